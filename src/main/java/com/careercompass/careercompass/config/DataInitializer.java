@@ -7,16 +7,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @SuppressWarnings("all")
 public class DataInitializer {
 
     @Autowired
-    private PineconeVectorService pineconeVectorService;
+    private VectorStore vectorStore;
 
     @Autowired
-    private CsvSnippetLoader csvSnippetLoader;
+    private IngestionJobService ingestionJobService;
 
     // ⚠️ CONFIGURATION OPTIONS
     // Set these flags to control initialization behavior
@@ -40,8 +41,8 @@ public class DataInitializer {
     @PostConstruct
     public void initializePineconeIndex() {
         // ALWAYS check specific stats on startup so the user knows what's in the DB
-        System.out.println("🔍 Checking Pinecone Index Stats...");
-        pineconeVectorService.logIndexStats();
+        System.out.println("🔍 Checking vector index stats...");
+        vectorStore.logIndexStats();
 
         // SMART INGESTION:
         // Logic moved to ingestAllData() to allow "One-Time" ingestion if empty
@@ -54,45 +55,35 @@ public class DataInitializer {
 
             // Step 2: Ingest to Pinecone if enabled
             if (INGEST_TO_PINECONE) {
-                System.out.println("\n🔍 Checking Pinecone index status...");
-
-                // SMART INGEST: Only sync if index is empty OR if explicitly enabled via
-                // property
-                if (pineconeVectorService.isIndexEmpty() || ingestEnabled) {
-                    System.out.println("📦 Pinecone ingestion criteria met. Starting data sync...");
-
-                    List<CsvSnippetLoader.Snippets> snippets = null;
-
-                    // Load snippets from MULTIPLE CSV files
-                    // 1. unified_knowledge.csv (Core data)
-                    // 2. interview_qa.csv (Your new 10,000+ dataset)
-                    List<String> filesToLoad = List.of(
-                            "data/unified_knowledge.csv",
-                            "data/interview_qa.csv",
-                            "data/career_guidance.csv",
-                            "data/soft_skills.csv",
-                            "data/skills.csv",
-                            "data/resume_ats.csv",
-                            "data/career_transition.csv",
-                            "data/job_search.csv");
-
-                    System.out.println("📂 Loading snippets from files: " + filesToLoad);
-                    snippets = csvSnippetLoader.loadFromMultipleCsv(filesToLoad);
-
-                    System.out.println("📊 Total snippets to ingest: " + snippets.size());
-
-                    pineconeVectorService.initializeIndex(snippets);
+                System.out.println("\n🔍 Checking vector index status...");
+
+                // SMART INGEST: Full load if the index is empty; when explicitly enabled
+                // via property, only the snippets that changed since the last sync. A job
+                // interrupted by the last shutdown is always resumed.
+                boolean empty = vectorStore.isIndexEmpty();
+                boolean resume = ingestionJobService.interruptedJob().isPresent();
+                if (empty || ingestEnabled || resume) {
+                    System.out.println("📦 Ingestion criteria met. Starting "
+                            + (empty ? "full" : "incremental") + " data sync"
+                            + (resume ? " (resuming interrupted job)" : "") + "...");
+
+                    // Parse, embed and upsert MULTIPLE CSV files concurrently
+                    // (unified_knowledge.csv core data, interview_qa.csv, ...)
+                    System.out.println("📂 Syncing snippets from files: " + CsvSnippetLoader.KNOWLEDGE_FILES);
+                    IngestionJob job = ingestionJobService.submit();
+                    job.await(Long.MAX_VALUE, TimeUnit.DAYS);
+                    System.out.println("📊 Ingestion job " + job.getId() + ": " + job.status());
 
                     System.out.println("\n✅ Data ingestion complete!");
 
                 } else {
-                    System.out.println("✅ Pinecone index already populated. Skipping initialization.");
+                    System.out.println("✅ Vector index already populated. Skipping initialization.");
                 }
             }
 
             // Verify final state
-            System.out.println("\n🔍 Final Pinecone Status Check:");
-            pineconeVectorService.logIndexStats();
+            System.out.println("\n🔍 Final vector index status check:");
+            vectorStore.logIndexStats();
 
         } catch (Exception e) {
             System.err.println("⚠️ Warning: Could not initialize data: " + e.getMessage());
@@ -1,10 +1,12 @@
 package com.careercompass.careercompass.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "vector.store.type", havingValue = "pinecone", matchIfMissing = true)
 @SuppressWarnings("all")
 public class PineconeConfig {
 
@@ -2,10 +2,13 @@ package com.careercompass.careercompass.controller;
 
 import com.careercompass.careercompass.dto.CoverLetterRequest;
 import com.careercompass.careercompass.service.CareerChatService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/cover-letter")
@@ -14,19 +17,30 @@ import java.util.Map;
 public class CoverLetterController {
 
     private final CareerChatService chatService;
+    private final SseStreams sseStreams;
 
-    public CoverLetterController(CareerChatService chatService) {
+    public CoverLetterController(CareerChatService chatService, SseStreams sseStreams) {
         this.chatService = chatService;
+        this.sseStreams = sseStreams;
     }
 
     @PostMapping("/generate")
-    public Map<String, String> generateCoverLetter(@RequestBody CoverLetterRequest request) {
+    public CompletableFuture<Map<String, String>> generateCoverLetter(@RequestBody CoverLetterRequest request) {
 
-        String generatedLetter = chatService.generateCoverLetter(request);
-
-        Map<String, String> response = new HashMap<>();
-        response.put("coverLetter", generatedLetter); // ✔ REQUIRED BY FRONTEND
+        return chatService.generateCoverLetterAsync(request).thenApply(generatedLetter -> {
+            Map<String, String> response = new HashMap<>();
+            response.put("coverLetter", generatedLetter); // ✔ REQUIRED BY FRONTEND
+            return response;
+        });
+    }
 
-        return response;
+    /**
+     * Streaming variant: "token" events as the letter is written, then "done"
+     * with {"coverLetter": ...}
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateCoverLetterStream(@RequestBody CoverLetterRequest request) {
+        return sseStreams.stream("coverLetter", "Unable to generate cover letter right now.",
+                (onText, cancel) -> chatService.streamCoverLetter(request, onText, cancel));
     }
 }
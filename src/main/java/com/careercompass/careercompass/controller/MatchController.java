@@ -13,12 +13,16 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 @CrossOrigin
@@ -31,20 +35,34 @@ public class MatchController {
     @Autowired
     private CareerChatService chatService;
 
+    @Autowired
+    private SseStreams sseStreams;
+
     @PostMapping("/analyze")
     public AnalysisResponse analyze(@Valid @RequestBody AnalysisRequest request) {
         return matchService.analyze(request);
     }
 
+    /**
+     * Returns a future so the servlet thread is released while Groq answers
+     */
     @PostMapping("/ask")
-    public QuestionResponse ask(@Valid @RequestBody QuestionRequest request) {
-
-        String answer = chatService.answerCareerQuestion(request);
-
-        QuestionResponse response = new QuestionResponse();
-        response.setAnswer(answer);
+    public CompletableFuture<QuestionResponse> ask(@Valid @RequestBody QuestionRequest request) {
+        return chatService.answerCareerQuestionAsync(request).thenApply(answer -> {
+            QuestionResponse response = new QuestionResponse();
+            response.setAnswer(answer);
+            return response;
+        });
+    }
 
-        return response;
+    /**
+     * /ask as Server-Sent Events: "token" events carry the answer as it is
+     * generated, then "done" carries the full answer
+     */
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter askStream(@Valid @RequestBody QuestionRequest request) {
+        return sseStreams.stream("answer", "Unable to answer right now. Please try again.",
+                (onText, cancel) -> chatService.streamCareerAnswer(request, onText, cancel));
     }
 
     @PostMapping("/upload-resume")
@@ -1,27 +1,118 @@
 package com.careercompass.careercompass.controller;
 
-import com.careercompass.careercompass.config.DataInitializer;
+import com.careercompass.careercompass.service.CacheService;
+import com.careercompass.careercompass.service.CircuitBreakers;
+import com.careercompass.careercompass.service.EmbeddingWarmupService;
+import com.careercompass.careercompass.service.GroqClient;
+import com.careercompass.careercompass.service.IngestionJob;
+import com.careercompass.careercompass.service.IngestionJobService;
+import com.careercompass.careercompass.service.VectorStoreBenchmark;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin")
 @SuppressWarnings("all")
 public class RagAdminController {
 
     @Autowired
-    private DataInitializer dataInitializer;
+    private IngestionJobService ingestionJobService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private EmbeddingWarmupService embeddingWarmupService;
+
+    @Autowired
+    private VectorStoreBenchmark vectorStoreBenchmark;
 
+    @Autowired
+    private GroqClient groqClient;
+
+    @Autowired
+    private CircuitBreakers circuitBreakers;
+
+    /**
+     * Queues a knowledge-base sync and returns its job id; poll the status URL
+     * for progress. An interrupted earlier job is resumed, not restarted.
+     */
     @PostMapping("/ingest")
-    public String triggerIngestion() {
-        // Trigger manual ingestion in a separate thread to avoid blocking response too
-        // long
-        // (For simplicity in this fix, we run it directly, but async is better for
-        // large data)
-        new Thread(() -> dataInitializer.ingestAllData()).start();
-
-        return "🚀 Ingestion triggered in background! Check server console for progress.";
+    public ResponseEntity<Map<String, Object>> triggerIngestion() {
+        IngestionJob job = ingestionJobService.submit();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "jobId", job.getId(),
+                "mode", job.isFull() ? "full" : "incremental",
+                "statusUrl", "/admin/ingest/" + job.getId()));
+    }
+
+    @GetMapping("/ingest")
+    public List<Map<String, Object>> ingestionJobs() {
+        return ingestionJobService.list().stream().map(IngestionJob::status).toList();
+    }
+
+    @GetMapping("/ingest/{jobId}")
+    public ResponseEntity<Map<String, Object>> ingestionStatus(@PathVariable String jobId) {
+        return ingestionJobService.find(jobId)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stops a job after its in-flight batches; work already upserted stays
+     * checkpointed for the next sync.
+     */
+    @PostMapping("/ingest/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelIngestion(@PathVariable String jobId) {
+        if (ingestionJobService.find(jobId).isEmpty())
+            return ResponseEntity.notFound().build();
+        if (!ingestionJobService.cancel(jobId))
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ingestionJobService.find(jobId).get().status());
+        return ResponseEntity.accepted().body(ingestionJobService.find(jobId).get().status());
+    }
+
+    @GetMapping("/cache/embeddings")
+    public Map<String, Object> embeddingCacheStats() {
+        return cacheService.getEmbeddingCacheStats();
+    }
+
+    /**
+     * Groq quota left, adaptive concurrency limit and queue depths
+     */
+    @GetMapping("/groq/limits")
+    public Map<String, Object> groqLimits() {
+        return groqClient.getRateLimitStatus();
+    }
+
+    /**
+     * Circuit state of Groq, Gemini and Pinecone (OPEN = serving fallbacks)
+     */
+    @GetMapping("/breakers")
+    public Map<String, Object> breakers() {
+        return circuitBreakers.status();
+    }
+
+    @GetMapping("/warmup")
+    public Map<String, Object> warmupStatus() {
+        return embeddingWarmupService.getStatus();
+    }
+
+    /**
+     * Recall@k and latency of the active vector store vs. an exact local scan
+     */
+    @GetMapping("/vector/benchmark")
+    public Map<String, Object> vectorBenchmark(@RequestParam(defaultValue = "8") int k,
+            @RequestParam(defaultValue = "50") int queries) {
+        return vectorStoreBenchmark.run(k, queries);
     }
 }
@@ -0,0 +1,129 @@
+package com.careercompass.careercompass.controller;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Runs a streaming generation off the request thread and relays it as
+ * Server-Sent Events:
+ * - "token" {"text": ...} for every chunk, in order
+ * - "done" {resultField: full text} when generation finished
+ * - "error" {"message": ...} if it failed (chunks already sent stay valid)
+ *
+ * Chunks are JSON so leading spaces and newlines survive SSE framing.
+ *
+ * A stream holds its thread for the whole completion, so streams get their
+ * own pool (sse.stream.threads) with a short queue (sse.stream.queue-capacity)
+ * instead of the shared task executor. When both are full the stream is
+ * refused at once with an "error" event rather than waiting behind other
+ * completions. The generator gets a cancel signal that completes when the
+ * client disconnects or the emitter times out, which aborts the upstream
+ * call right away.
+ */
+@Component
+class SseStreams {
+    private static final Logger log = LoggerFactory.getLogger(SseStreams.class);
+
+    private static final long TIMEOUT_MS = 120_000;
+    private static final String BUSY_MESSAGE = "Too many answers are in progress. Please try again shortly.";
+
+    private final ThreadPoolExecutor executor;
+
+    SseStreams(@Value("${sse.stream.threads:32}") int threads,
+            @Value("${sse.stream.queue-capacity:8}") int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "sse-stream-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param generator receives the chunk consumer and the cancel signal, and
+     *                  returns the full text, or null on failure
+     */
+    SseEmitter stream(String resultField, String failureMessage,
+            BiFunction<Consumer<String>, CompletableFuture<Void>, String> generator) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        CompletableFuture<Void> cancel = new CompletableFuture<>();
+        emitter.onTimeout(() -> {
+            cancel.complete(null);
+            emitter.complete();
+        });
+        emitter.onError(e -> cancel.complete(null));
+        emitter.onCompletion(() -> cancel.complete(null));
+
+        try {
+            executor.execute(() -> run(emitter, cancel, resultField, failureMessage, generator));
+        } catch (RejectedExecutionException e) {
+            log.warn("🚦 SSE stream refused: {} running, {} queued", executor.getActiveCount(),
+                    executor.getQueue().size());
+            try {
+                send(emitter, "error", Map.of("message", BUSY_MESSAGE));
+                emitter.complete();
+            } catch (UncheckedIOException sendFailed) {
+                emitter.completeWithError(sendFailed.getCause());
+            }
+        }
+        return emitter;
+    }
+
+    private static void run(SseEmitter emitter, CompletableFuture<Void> cancel, String resultField,
+            String failureMessage, BiFunction<Consumer<String>, CompletableFuture<Void>, String> generator) {
+        // Client gone while queued
+        if (cancel.isDone())
+            return;
+        try {
+            String result = generator.apply(text -> send(emitter, "token", Map.of("text", text)), cancel);
+            if (cancel.isDone())
+                return;
+            if (result != null) {
+                send(emitter, "done", Map.of(resultField, result));
+            } else {
+                send(emitter, "error", Map.of("message", failureMessage));
+            }
+            emitter.complete();
+        } catch (Exception e) {
+            if (cancel.isDone() || e instanceof UncheckedIOException) {
+                log.info("🔌 SSE client went away: {}", e.getMessage());
+                emitter.completeWithError(e instanceof UncheckedIOException io ? io.getCause() : e);
+                return;
+            }
+            log.error("❌ SSE stream failed: {}", e.getMessage(), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void send(SseEmitter emitter, String event, Map<String, String> data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Bm25Index
+ *
+ * Immutable in-memory inverted index with Okapi BM25 ranking (k1 = 1.2,
+ * b = 0.75) over snippet topic, keywords and adviceText. Topic and keyword
+ * tokens are counted twice so a term in the title outranks one buried in the
+ * advice body.
+ *
+ * Tokens keep '+', '#' and inner '.' so "c++", "c#", ".net" and "node.js"
+ * survive as terms.
+ */
+public final class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "do", "does", "for", "from", "how", "i", "in", "is",
+            "it", "me", "my", "of", "on", "or", "should", "the", "to", "vs", "versus", "what", "when", "which",
+            "why", "with", "you", "your");
+
+    /**
+     * A hit: document (insertion index), BM25 score, and the idf-weighted share
+     * of query terms the document contains (1.0 = every term).
+     */
+    public record Hit(int doc, double score, double coverage) {
+    }
+
+    private final int docCount;
+    private final int[] docLengths;
+    private final double avgDocLength;
+    // term -> parallel (doc ids ascending, term frequencies)
+    private final Map<String, int[][]> postings;
+
+    public Bm25Index(List<CsvSnippetLoader.Snippets> snippets) {
+        this.docCount = snippets.size();
+        this.docLengths = new int[docCount];
+
+        Map<String, List<int[]>> building = new HashMap<>();
+        long totalLength = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            Map<String, Integer> tf = new HashMap<>();
+            CsvSnippetLoader.Snippets s = snippets.get(doc);
+            int length = count(tf, s.getTopic(), TITLE_BOOST);
+            if (s.getKeywords() != null) {
+                for (String kw : s.getKeywords())
+                    length += count(tf, kw, TITLE_BOOST);
+            }
+            length += count(tf, s.getAdviceText(), 1);
+
+            docLengths[doc] = length;
+            totalLength += length;
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                building.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(new int[] { doc, e.getValue() });
+            }
+        }
+        this.avgDocLength = docCount == 0 ? 0 : totalLength / (double) docCount;
+
+        this.postings = new HashMap<>(building.size() * 2);
+        building.forEach((term, list) -> {
+            int[] docs = new int[list.size()];
+            int[] freqs = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                docs[i] = list.get(i)[0];
+                freqs[i] = list.get(i)[1];
+            }
+            postings.put(term, new int[][] { docs, freqs });
+        });
+    }
+
+    /**
+     * Top-K documents accepted by {@code filter}, best first.
+     */
+    public List<Hit> search(String query, int k, IntPredicate filter) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || k <= 0 || docCount == 0)
+            return List.of();
+
+        double[] scores = new double[docCount];
+        double[] matchedIdf = new double[docCount];
+        double totalIdf = 0;
+        for (String term : new LinkedHashSet<>(terms)) {
+            int[][] posting = postings.get(term);
+            int df = posting == null ? 0 : posting[0].length;
+            double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            totalIdf += idf;
+            if (posting == null)
+                continue;
+
+            int[] docs = posting[0];
+            int[] freqs = posting[1];
+            for (int i = 0; i < docs.length; i++) {
+                int doc = docs[i];
+                double tf = freqs[i];
+                double norm = K1 * (1 - B + B * docLengths[doc] / avgDocLength);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+                matchedIdf[doc] += idf;
+            }
+        }
+
+        FlatVectorIndex.TopK top = new FlatVectorIndex.TopK(k);
+        for (int doc = 0; doc < docCount; doc++) {
+            if (scores[doc] > 0 && filter.test(doc))
+                top.offer(doc, (float) scores[doc]);
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (VectorIndex.Hit h : top.drainBestFirst()) {
+            double coverage = totalIdf == 0 ? 0 : matchedIdf[h.id()] / totalIdf;
+            hits.add(new Hit(h.id(), scores[h.id()], coverage));
+        }
+        return hits;
+    }
+
+    public int size() {
+        return docCount;
+    }
+
+    public int vocabularySize() {
+        return postings.size();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#.]+")) {
+            String token = raw;
+            while (token.endsWith("."))
+                token = token.substring(0, token.length() - 1);
+            if (!token.isEmpty() && !STOPWORDS.contains(token))
+                tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static int count(Map<String, Integer> tf, String text, int weight) {
+        int n = 0;
+        for (String token : tokenize(text)) {
+            tf.merge(token, weight, Integer::sum);
+            n += weight;
+        }
+        return n;
+    }
+}
@@ -3,14 +3,30 @@ package com.careercompass.careercompass.service;
 import com.careercompass.careercompass.dto.AiSkillProfile;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class CacheService {
 
+    // Keys up to this length are treated as reusable skill/title terms; longer
+    // keys are resume/JD bodies that are rarely seen twice
+    static final int TERM_KEY_MAX_LENGTH = 100;
+
+    private static final long TERM_EMBEDDING_BUDGET_BYTES = 32L * 1024 * 1024;
+    private static final long DOCUMENT_EMBEDDING_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    // Approximate retained size: float[] payload + key chars + object headers
+    private static final Weigher<String, Embedding> EMBEDDING_WEIGHER = (key, value) -> 64
+            + key.length() * 2
+            + value.dimension() * Float.BYTES;
+
     // L1: Exact Question Cache (1 hour TTL)
     private final Cache<String, String> questionCache = CacheBuilder.newBuilder()
             .expireAfterWrite(1, TimeUnit.HOURS)
@@ -35,6 +51,21 @@ public class CacheService {
             .maximumSize(500)
             .build();
 
+    // L5a: Term Embedding Cache (skills, titles) - hot and reusable, bounded by bytes
+    private final Cache<String, Embedding> termEmbeddingCache = CacheBuilder.newBuilder()
+            .maximumWeight(TERM_EMBEDDING_BUDGET_BYTES)
+            .weigher(EMBEDDING_WEIGHER)
+            .recordStats()
+            .build();
+
+    // L5b: Document Embedding Cache (resume/JD bodies) - small budget, short TTL
+    private final Cache<String, Embedding> documentEmbeddingCache = CacheBuilder.newBuilder()
+            .maximumWeight(DOCUMENT_EMBEDDING_BUDGET_BYTES)
+            .weigher(EMBEDDING_WEIGHER)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
     public String getQuestion(String key) {
         return questionCache.getIfPresent(key);
     }
@@ -67,10 +98,48 @@ public class CacheService {
         ragCache.put(key, value);
     }
 
+    public Embedding getEmbedding(String key) {
+        return embeddingCacheFor(key).getIfPresent(key);
+    }
+
+    public void putEmbedding(String key, Embedding value) {
+        if (value == null || value.isEmpty())
+            return;
+        embeddingCacheFor(key).put(key, value);
+    }
+
+    private Cache<String, Embedding> embeddingCacheFor(String key) {
+        return key.length() <= TERM_KEY_MAX_LENGTH ? termEmbeddingCache : documentEmbeddingCache;
+    }
+
+    /**
+     * Hit/miss/eviction counters for both embedding tiers.
+     */
+    public Map<String, Object> getEmbeddingCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("terms", describe(termEmbeddingCache, TERM_EMBEDDING_BUDGET_BYTES));
+        stats.put("documents", describe(documentEmbeddingCache, DOCUMENT_EMBEDDING_BUDGET_BYTES));
+        return stats;
+    }
+
+    private Map<String, Object> describe(Cache<String, Embedding> cache, long budgetBytes) {
+        CacheStats cs = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("entries", cache.size());
+        m.put("budgetBytes", budgetBytes);
+        m.put("hits", cs.hitCount());
+        m.put("misses", cs.missCount());
+        m.put("hitRate", cs.hitRate());
+        m.put("evictions", cs.evictionCount());
+        return m;
+    }
+
     public void clearAll() {
         questionCache.invalidateAll();
         intentCache.invalidateAll();
         profileCache.invalidateAll();
         ragCache.invalidateAll();
+        termEmbeddingCache.invalidateAll();
+        documentEmbeddingCache.invalidateAll();
     }
 }
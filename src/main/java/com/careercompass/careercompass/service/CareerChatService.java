@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -70,6 +71,57 @@ public class CareerChatService {
     }
 
     public String answerCareerQuestion(QuestionRequest request) {
+        return answerCareerQuestionAsync(request).join();
+    }
+
+    /**
+     * Retrieval and prompt building run on the calling thread; the Groq call
+     * does not hold it. Completes with null if Groq failed.
+     */
+    public CompletableFuture<String> answerCareerQuestionAsync(QuestionRequest request) {
+        CareerQueryIntent intent = detectIntent(request.question());
+        if (intent == CareerQueryIntent.GRATITUDE)
+            return CompletableFuture.completedFuture(getRandomGratitudeResponse());
+
+        String prompt = buildChatPrompt(request, intent);
+        return groqClient.callGroqAsync(prompt, GroqClient.QueryComplexity.POWERFUL)
+                .thenApply(response -> response != null ? skillService.professionalize(response) : null);
+    }
+
+    /**
+     * Streaming variant of answerCareerQuestion(QuestionRequest): cleaned text
+     * is passed to {@code onText} as Groq produces it. Returns the full answer,
+     * or null if the Groq call failed (possibly after some text was streamed)
+     * or {@code cancel} was completed.
+     */
+    public String streamCareerAnswer(QuestionRequest request, Consumer<String> onText,
+            CompletableFuture<Void> cancel) {
+        CareerQueryIntent intent = detectIntent(request.question());
+        if (intent == CareerQueryIntent.GRATITUDE) {
+            String thanks = getRandomGratitudeResponse();
+            onText.accept(thanks);
+            return thanks;
+        }
+
+        String prompt = buildChatPrompt(request, intent);
+        ProfessionalizeFilter filter = skillService.professionalizer();
+        StringBuilder answer = new StringBuilder();
+        Consumer<String> emit = text -> {
+            if (!text.isEmpty()) {
+                answer.append(text);
+                onText.accept(text);
+            }
+        };
+
+        String raw = groqClient.streamGroq(prompt, GroqClient.QueryComplexity.POWERFUL,
+                token -> emit.accept(filter.accept(token)), cancel);
+        if (raw == null)
+            return null;
+        emit.accept(filter.finish());
+        return answer.toString();
+    }
+
+    private String buildChatPrompt(QuestionRequest request, CareerQueryIntent intent) {
         // AI profile construction for the controller call
         AiSkillProfile profile = new AiSkillProfile();
         profile.setMatchedSkills(request.matchedSkills() != null ? request.matchedSkills() : new ArrayList<>());
@@ -89,22 +141,15 @@ public class CareerChatService {
         log.info("🛠️ [Chat Skills] Matched: {}, Missing: {}",
                 profile.getMatchedSkills().size(), profile.getMissingSkills().size());
 
-        CareerQueryIntent intent = detectIntent(request.question());
-        if (intent == CareerQueryIntent.GRATITUDE)
-            return getRandomGratitudeResponse();
-
         List<CsvSnippetLoader.Snippets> snippets = ragService.retrieveRelevantSnippets(request.question(),
                 request.missingSkills(), null);
         String ragContext = snippets.stream()
                 .map(s -> "### " + s.getTopic() + " (" + s.getCategory() + ")\n" + s.getAdviceText())
                 .collect(Collectors.joining("\n\n"));
 
-        String prompt = promptBuilder.buildCareerPrompt(request.question(), request.resumeText(),
+        return promptBuilder.buildCareerPrompt(request.question(), request.resumeText(),
                 request.jobDescription(), profile, intent.name(),
                 ragContext);
-        String response = groqClient.callGroq(prompt, GroqClient.QueryComplexity.POWERFUL);
-
-        return response != null ? skillService.professionalize(response) : null;
     }
 
     private String getRagContext(String question, AiSkillProfile profile, CareerQueryIntent intent) {
@@ -160,8 +205,22 @@ public class CareerChatService {
     }
 
     public String generateCoverLetter(CoverLetterRequest request) {
+        return generateCoverLetterAsync(request).join();
+    }
+
+    public CompletableFuture<String> generateCoverLetterAsync(CoverLetterRequest request) {
+        String prompt = promptBuilder.buildCoverLetterPrompt(request);
+        return groqClient.callGroqAsync(prompt, GroqClient.QueryComplexity.POWERFUL)
+                .thenApply(out -> out != null ? out : "Unable to generate cover letter right now.");
+    }
+
+    /**
+     * Streaming variant of generateCoverLetter. Returns the full letter, or null
+     * if the Groq call failed or {@code cancel} was completed.
+     */
+    public String streamCoverLetter(CoverLetterRequest request, Consumer<String> onText,
+            CompletableFuture<Void> cancel) {
         String prompt = promptBuilder.buildCoverLetterPrompt(request);
-        String out = groqClient.callGroq(prompt, GroqClient.QueryComplexity.POWERFUL);
-        return out != null ? out : "Unable to generate cover letter right now.";
+        return groqClient.streamGroq(prompt, GroqClient.QueryComplexity.POWERFUL, onText, cancel);
     }
 }
@@ -0,0 +1,140 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CircuitBreaker
+ *
+ * Guards one external dependency (Groq, Gemini, Pinecone). When the
+ * dependency is healthy, calls go straight through (CLOSED). After
+ * failureThreshold consecutive failed calls the breaker opens. While it is
+ * OPEN, tryAcquire() refuses at once, so callers skip the network and degrade
+ * instead of each waiting out its own timeouts and retries. After openMs one
+ * caller is let through as a probe (HALF_OPEN). If the probe succeeds the
+ * breaker closes; if it fails the breaker opens again for another openMs.
+ *
+ * Callers report one outcome per logical call (after their own retries), not
+ * per attempt: onSuccess(), onFailure(), or onIgnored() when the call ended
+ * without saying anything about the dependency's health (shed locally, or
+ * rejected as a bad request).
+ */
+public class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probing;
+    private long probeStartedAt;
+
+    private long rejected;
+    private long trips;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMs) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openMs));
+    }
+
+    /**
+     * True if a call may go out now. In HALF_OPEN only the probe is admitted;
+     * a probe that never reported back is replaced after openMs.
+     */
+    public synchronized boolean tryAcquire() {
+        long now = now();
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - openedAt < openNanos) {
+                    rejected++;
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                log.info("🔌 {} circuit half-open, probing", name);
+                break;
+            case HALF_OPEN:
+                if (probing && now - probeStartedAt < openNanos) {
+                    rejected++;
+                    return false;
+                }
+                break;
+        }
+        probing = true;
+        probeStartedAt = now;
+        return true;
+    }
+
+    /**
+     * True if tryAcquire() would admit a call; does not claim the probe.
+     */
+    public synchronized boolean isAvailable() {
+        long now = now();
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now - openedAt >= openNanos;
+            case HALF_OPEN -> !probing || now - probeStartedAt >= openNanos;
+        };
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probing = false;
+        if (state != State.CLOSED) {
+            log.info("✅ {} circuit closed", name);
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold))
+            trip();
+    }
+
+    public synchronized void onIgnored() {
+        // Lets the next caller probe instead of waiting out the stale one
+        probing = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state.name());
+        status.put("consecutiveFailures", consecutiveFailures);
+        if (state == State.OPEN)
+            status.put("retryInMs", Math.max(0, TimeUnit.NANOSECONDS.toMillis(openedAt + openNanos - now())));
+        status.put("rejected", rejected);
+        status.put("trips", trips);
+        return status;
+    }
+
+    private void trip() {
+        state = State.OPEN;
+        openedAt = now();
+        probing = false;
+        trips++;
+        log.warn("🔌 {} circuit open after {} consecutive failures; degrading for {} ms", name,
+                consecutiveFailures, TimeUnit.NANOSECONDS.toMillis(openNanos));
+    }
+
+    long now() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,47 @@
+package com.careercompass.careercompass.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One CircuitBreaker per external dependency, shared by every client of it.
+ * Gemini backs both EmbeddingService and the query side of vector search, so
+ * a Gemini outage also takes Pinecone search off the hot path.
+ */
+@Component
+public class CircuitBreakers {
+
+    private final CircuitBreaker groq;
+    private final CircuitBreaker gemini;
+    private final CircuitBreaker pinecone;
+
+    public CircuitBreakers(@Value("${breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${breaker.open-ms:30000}") long openMs) {
+        this.groq = new CircuitBreaker("Groq", failureThreshold, openMs);
+        this.gemini = new CircuitBreaker("Gemini", failureThreshold, openMs);
+        this.pinecone = new CircuitBreaker("Pinecone", failureThreshold, openMs);
+    }
+
+    public CircuitBreaker groq() {
+        return groq;
+    }
+
+    public CircuitBreaker gemini() {
+        return gemini;
+    }
+
+    public CircuitBreaker pinecone() {
+        return pinecone;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("groq", groq.status());
+        status.put("gemini", gemini.status());
+        status.put("pinecone", pinecone.status());
+        return status;
+    }
+}
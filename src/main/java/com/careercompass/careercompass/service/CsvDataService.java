@@ -1,5 +1,7 @@
 package com.careercompass.careercompass.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -26,10 +28,24 @@ public class CsvDataService {
     private Map<String, String> skillDisplayNames = new HashMap<>();
     private Map<String, String> keywordToId = new HashMap<>();
 
+    // Single-pass matcher over all skill names + keywords, rebuilt on load
+    private volatile SkillDictionaryMatcher skillMatcher = new SkillDictionaryMatcher(Map.of());
+
+    // Substring index over keywords longer than 3 chars (findSkillId step 3)
+    private volatile SkillDictionaryMatcher containedKeywordMatcher = new SkillDictionaryMatcher(Map.of());
+
+    // Memoized findSkillId results; "" marks "no skill"
+    private static final String NO_SKILL = "";
+    private final Cache<String, String> resolvedIds = CacheBuilder.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
     @PostConstruct
     public void init() {
         loadSkills();
+        loadAliases();
         loadJobRoles();
+        buildSkillMatcher();
     }
 
     private void loadSkills() {
@@ -73,6 +89,43 @@ public class CsvDataService {
         }
     }
 
+    /**
+     * Extra spellings from skill_aliases.csv ("node js", "micro-services")
+     * that skills.csv keywords don't cover. Keywords win on conflict.
+     */
+    private void loadAliases() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource("data/skill_aliases.csv").getInputStream());
+                CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                String alias = record.get("alias").trim().toLowerCase();
+                String id = record.get("skillId").trim();
+                if (alias.isEmpty() || !skillIdToName.containsKey(id)) {
+                    System.err.println("⚠️ Skipping alias '" + alias + "': unknown skill " + id);
+                    continue;
+                }
+                keywordToId.putIfAbsent(alias, id);
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading skill_aliases.csv: " + e.getMessage());
+        }
+    }
+
+    private void buildSkillMatcher() {
+        // Canonical names win over keywords that happen to spell another skill
+        Map<String, String> dictionary = new LinkedHashMap<>(skillNameToId);
+        keywordToId.forEach(dictionary::putIfAbsent);
+        skillMatcher = new SkillDictionaryMatcher(dictionary);
+
+        Map<String, String> contained = new TreeMap<>();
+        keywordToId.forEach((kw, id) -> {
+            if (kw.length() > 3)
+                contained.put(kw, id);
+        });
+        containedKeywordMatcher = new SkillDictionaryMatcher(contained);
+        resolvedIds.invalidateAll();
+    }
+
     private void loadJobRoles() {
         try (Reader reader = new InputStreamReader(new ClassPathResource("data/job_roles.csv").getInputStream());
                 CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader)) {
@@ -126,6 +179,26 @@ public class CsvDataService {
         return keywordToId.keySet();
     }
 
+    /**
+     * Every skill name/keyword occurring as a whole word in the text, with
+     * offsets, in one linear scan. Match values are skill ids.
+     */
+    public List<SkillDictionaryMatcher.Match> findSkillMentions(String text) {
+        return skillMatcher.findAll(text);
+    }
+
+    /**
+     * Display names of all skills mentioned in the text, in order of first
+     * occurrence.
+     */
+    public List<String> extractSkillNames(String text) {
+        List<String> names = new ArrayList<>();
+        for (String id : skillMatcher.findValues(text)) {
+            names.add(skillDisplayNames.get(id));
+        }
+        return names;
+    }
+
     public String getAdvice(String skillName) {
         String id = findSkillId(skillName);
         return id != null ? skillAdvice.get(id) : null;
@@ -150,31 +223,38 @@ public class CsvDataService {
      * Robust skill finding:
      * 1. Exact name match
      * 2. Keyword match
-     * 3. Containment match (skill contains name or name contains keyword)
+     * 3. Containment match (name contains a keyword longer than 3 chars);
+     * the longest contained keyword wins, so the result is deterministic
+     *
+     * Results are memoized, so repeated lookups of the same string (filter,
+     * category, display name) only resolve once.
      */
     public String findSkillId(String name) {
         if (name == null)
             return null;
         String lower = name.toLowerCase().trim();
 
+        String cached = resolvedIds.getIfPresent(lower);
+        if (cached != null)
+            return cached.isEmpty() ? null : cached;
+
+        String id = resolveSkillId(lower);
+        resolvedIds.put(lower, id != null ? id : NO_SKILL);
+        return id;
+    }
+
+    private String resolveSkillId(String lower) {
         // 1. Direct match
-        if (skillNameToId.containsKey(lower))
-            return skillNameToId.get(lower);
+        String id = skillNameToId.get(lower);
+        if (id != null)
+            return id;
 
         // 2. Keyword match
-        if (keywordToId.containsKey(lower))
-            return keywordToId.get(lower);
+        id = keywordToId.get(lower);
+        if (id != null)
+            return id;
 
         // 3. Reverse Keyword match (e.g. "java development" contains "java")
-        // Check if any keyword is contained in the input name
-        for (String kw : keywordToId.keySet()) {
-            if (lower.equals(kw) || (kw.length() > 3 && lower.contains(kw))) {
-                // Prioritize exact keyword matches if multiple? For now just return first.
-                // Ideally we pick longest match.
-                return keywordToId.get(kw);
-            }
-        }
-
-        return null;
+        return containedKeywordMatcher.findLongestValue(lower);
     }
 }
@@ -24,6 +24,19 @@ import java.util.List;
 @SuppressWarnings("all")
 public class CsvSnippetLoader {
 
+    /**
+     * Knowledge base CSVs ingested into the vector store (in load order)
+     */
+    public static final List<String> KNOWLEDGE_FILES = List.of(
+            "data/unified_knowledge.csv",
+            "data/interview_qa.csv",
+            "data/career_guidance.csv",
+            "data/soft_skills.csv",
+            "data/skills.csv",
+            "data/resume_ats.csv",
+            "data/career_transition.csv",
+            "data/job_search.csv");
+
     /**
      * Load snippets from a CSV file with progress tracking
      * 
@@ -257,6 +270,15 @@ public class CsvSnippetLoader {
         return allSnippets;
     }
 
+    /**
+     * Load every knowledge base file (KNOWLEDGE_FILES)
+     * 
+     * @return Combined list of snippets
+     */
+    public List<Snippets> loadKnowledgeBase() {
+        return loadFromMultipleCsv(KNOWLEDGE_FILES);
+    }
+
     /**
      * Load the unified knowledge CSV file
      * 
@@ -0,0 +1,93 @@
+package com.careercompass.careercompass.service;
+
+import java.util.Arrays;
+
+/**
+ * Embedding
+ *
+ * Immutable dense vector backed by a primitive float[] with its L2 norm
+ * computed once at construction. Cosine similarity is a single primitive
+ * dot-product loop with no boxing or allocation.
+ */
+public final class Embedding {
+
+    public static final Embedding EMPTY = new Embedding(new float[0], 0f);
+
+    private final float[] values;
+    private final float norm;
+
+    private Embedding(float[] values, float norm) {
+        this.values = values;
+        this.norm = norm;
+    }
+
+    /**
+     * Wraps the given array without copying. Callers must not mutate it
+     * afterwards.
+     */
+    public static Embedding of(float[] values) {
+        if (values == null || values.length == 0)
+            return EMPTY;
+
+        double sum = 0.0;
+        for (float v : values) {
+            sum += v * v;
+        }
+        return new Embedding(values, (float) Math.sqrt(sum));
+    }
+
+    public float[] values() {
+        return values;
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+
+    public float norm() {
+        return norm;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public double dot(Embedding other) {
+        float[] a = values;
+        float[] b = other.values;
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Cosine similarity in [-1, 1]; 0.0 for empty, zero-norm or mismatched
+     * vectors.
+     */
+    public double cosine(Embedding other) {
+        if (other == null || values.length != other.values.length || norm == 0f || other.norm == 0f)
+            return 0.0;
+        return dot(other) / ((double) norm * other.norm);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Embedding))
+            return false;
+        return Arrays.equals(values, ((Embedding) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "Embedding{dimension=" + values.length + ", norm=" + norm + '}';
+    }
+}
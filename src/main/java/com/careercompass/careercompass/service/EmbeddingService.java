@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -18,31 +19,59 @@ public class EmbeddingService {
   @Value("${gemini.api.key}")
   private String apiKey;
 
-  private static final String MODEL = "text-embedding-004";
+  // Overridable so tests (and local stand-ins) can point at a stub server
+  @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com/v1}")
+  private String baseUrl = "https://generativelanguage.googleapis.com/v1";
 
-  private static final String GEMINI_URL = "https://generativelanguage.googleapis.com/v1/models/%s:embedContent?key=%s";
+  @Value("${gemini.embedding.model:text-embedding-004}")
+  private String model = "text-embedding-004";
+
+  private static final String GEMINI_URL = "%s/models/%s:embedContent?key=%s";
+  private static final String GEMINI_BATCH_URL = "%s/models/%s:batchEmbedContents?key=%s";
+
+  // Gemini caps batchEmbedContents at 100 requests per call
+  private static final int BATCH_CHUNK_SIZE = 100;
 
   private final RestTemplate restTemplate;
   private final ObjectMapper mapper = new ObjectMapper();
-
-  public EmbeddingService() {
+  private final CacheService cacheService;
+  private final EmbeddingStore embeddingStore;
+  private final SingleFlight<String, Embedding> embeddingFlights = new SingleFlight<>();
+  private final CircuitBreaker breaker;
+
+  public EmbeddingService(CacheService cacheService, EmbeddingStore embeddingStore, CircuitBreakers breakers) {
+    this.cacheService = cacheService;
+    this.embeddingStore = embeddingStore;
+    this.breaker = breakers.gemini();
     org.springframework.http.client.SimpleClientHttpRequestFactory factory = new org.springframework.http.client.SimpleClientHttpRequestFactory();
     factory.setConnectTimeout(5000);
     factory.setReadTimeout(5000);
     this.restTemplate = new RestTemplate(factory);
   }
 
-  // Cache for common skill embeddings to avoid repeated network calls
-  private static final java.util.Map<String, List<Float>> embeddingCache = new java.util.concurrent.ConcurrentHashMap<>();
-
-  public List<Float> generateEmbedding(String text) {
+  public Embedding generateEmbedding(String text) {
     if (text == null || text.isBlank())
-      return java.util.Collections.emptyList();
+      return Embedding.EMPTY;
 
-    // Check cache first
+    // Check cache first (memory, then disk)
     String cacheKey = text.trim().toLowerCase();
-    if (embeddingCache.containsKey(cacheKey)) {
-      return embeddingCache.get(cacheKey);
+    Embedding cached = lookupCached(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
+
+    // Concurrent misses for the same term share one Gemini call
+    return embeddingFlights.call(cacheKey, () -> {
+      Embedding landed = lookupCached(cacheKey);
+      return landed != null ? landed : fetchEmbedding(text, cacheKey);
+    });
+  }
+
+  private Embedding fetchEmbedding(String text, String cacheKey) {
+    // Cached vectors above still work during a Gemini outage; new ones do not
+    if (!breaker.tryAcquire()) {
+      System.err.println("🔌 [Gemini Embedding] Circuit open, returning empty embedding.");
+      return Embedding.EMPTY;
     }
 
     int maxRetries = 3;
@@ -51,7 +80,7 @@ public class EmbeddingService {
 
     while (retryCount < maxRetries) {
       try {
-        String url = String.format(GEMINI_URL, MODEL, apiKey);
+        String url = String.format(GEMINI_URL, baseUrl, model, apiKey);
 
         // 1. Build request using ObjectMapper for absolute JSON safety
         java.util.Map<String, Object> requestMap = new java.util.HashMap<>();
@@ -76,17 +105,15 @@ public class EmbeddingService {
             .path("embedding")
             .path("values");
 
-        List<Float> result = mapper.convertValue(
-            values,
-            mapper.getTypeFactory()
-                .constructCollectionType(List.class, Float.class));
+        Embedding result = toEmbedding(values);
 
         // Store in cache
-        if (result != null && !result.isEmpty()) {
-          System.out.println("✅ [Gemini Embedding] Created vector with " + result.size() + " dimensions");
-          embeddingCache.put(cacheKey, result);
+        if (!result.isEmpty()) {
+          System.out.println("✅ [Gemini Embedding] Created vector with " + result.dimension() + " dimensions");
+          store(cacheKey, result);
         }
 
+        breaker.onSuccess();
         return result;
 
       } catch (Exception e) {
@@ -94,6 +121,12 @@ public class EmbeddingService {
         lastException = e;
         System.err.println("⚠️ [Embedding Attempt " + retryCount + " Failed] " + e.getMessage());
 
+        if (!isOutage(e)) {
+          breaker.onIgnored();
+          return Embedding.EMPTY;
+        }
+        if (!breaker.isAvailable())
+          break;
         if (retryCount < maxRetries) {
           try {
             Thread.sleep(500 * retryCount); // Exponential-ish backoff
@@ -104,16 +137,64 @@ public class EmbeddingService {
       }
     }
 
-    System.err.println("❌ [Embedding Final Failure] All retries exhausted. Returning empty list.");
-    return java.util.Collections.emptyList();
+    System.err.println("❌ [Embedding Final Failure] All retries exhausted. Returning empty embedding.");
+    breaker.onFailure();
+    return Embedding.EMPTY;
+  }
+
+  /**
+   * Transport errors, 408, 429 and 5xx count against the Gemini circuit; any
+   * other 4xx is about this request, not Gemini's health.
+   */
+  private static boolean isOutage(Exception e) {
+    if (!(e instanceof HttpClientErrorException clientError))
+      return true;
+    int status = clientError.getStatusCode().value();
+    return status == 408 || status == 429;
+  }
+
+  /**
+   * L1 (in-memory) then L2 (on-disk) lookup; disk hits are promoted to memory.
+   */
+  private Embedding lookupCached(String key) {
+    Embedding cached = cacheService.getEmbedding(key);
+    if (cached != null)
+      return cached;
+
+    cached = embeddingStore.get(key);
+    if (cached != null)
+      cacheService.putEmbedding(key, cached);
+    return cached;
+  }
+
+  private void store(String key, Embedding embedding) {
+    cacheService.putEmbedding(key, embedding);
+    // Only reusable terms are persisted; resume/JD bodies stay memory-only
+    if (key.length() <= CacheService.TERM_KEY_MAX_LENGTH)
+      embeddingStore.put(key, embedding);
+  }
+
+  /**
+   * Copies a JSON number array straight into a primitive float[] (no boxing).
+   */
+  private Embedding toEmbedding(JsonNode values) {
+    if (values == null || !values.isArray() || values.size() == 0)
+      return Embedding.EMPTY;
+
+    float[] vector = new float[values.size()];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) values.get(i).asDouble();
+    }
+    return Embedding.of(vector);
   }
 
   /**
    * Generates embeddings for a list of strings in batches.
-   * Gemini supports multiple parts in a single request.
+   * Each chunk of up to 100 texts is sent as a single batchEmbedContents
+   * request; items the batch could not embed are retried one by one.
    */
-  public java.util.Map<String, List<Float>> batchGenerateEmbeddings(List<String> texts) {
-    java.util.Map<String, List<Float>> results = new java.util.HashMap<>();
+  public java.util.Map<String, Embedding> batchGenerateEmbeddings(List<String> texts) {
+    java.util.Map<String, Embedding> results = new java.util.HashMap<>();
     if (texts == null || texts.isEmpty())
       return results;
 
@@ -126,9 +207,9 @@ public class EmbeddingService {
     List<String> missingFromCache = new java.util.ArrayList<>();
 
     for (String text : uniqueTexts) {
-      String key = text.toLowerCase();
-      if (embeddingCache.containsKey(key)) {
-        results.put(text, embeddingCache.get(key));
+      Embedding cached = lookupCached(text.toLowerCase());
+      if (cached != null) {
+        results.put(text, cached);
       } else {
         missingFromCache.add(text);
       }
@@ -137,24 +218,36 @@ public class EmbeddingService {
     if (missingFromCache.isEmpty())
       return results;
 
-    // Process missing ones in chunks of 100 (Gemini limit varies, 100 is safe)
-    int chunkSize = 100;
-    for (int i = 0; i < missingFromCache.size(); i += chunkSize) {
-      int end = Math.min(i + chunkSize, missingFromCache.size());
+    for (int i = 0; i < missingFromCache.size(); i += BATCH_CHUNK_SIZE) {
+      int end = Math.min(i + BATCH_CHUNK_SIZE, missingFromCache.size());
       List<String> chunk = missingFromCache.subList(i, end);
 
-      try {
-        // Gemini's actually preferred batch structure for embedContent often takes 1 at
-        // a time,
-        // but batchEmbedContents exists for multiple.
-        // We'll use a simple loop over generateEmbedding for now, but in a separate
-        // thread if needed.
-        // For now, even a loop here is better than a loop deep in the service logic.
-        for (String text : chunk) {
-          results.put(text, generateEmbedding(text));
+      Embedding[] embedded = requestBatchEmbeddings(chunk);
+      if (embedded == null) {
+        // Whole request failed after retries; callers treat absent keys as "no
+        // vector" rather than paying 100 more single round-trips during an outage
+        System.err.println("⚠️ Batch chunk embedding failed for " + chunk.size() + " texts.");
+        continue;
+      }
+
+      List<String> partialFailures = new java.util.ArrayList<>();
+      for (int j = 0; j < chunk.size(); j++) {
+        String text = chunk.get(j);
+        Embedding embedding = embedded[j];
+        if (embedding == null || embedding.isEmpty()) {
+          partialFailures.add(text);
+          continue;
+        }
+        store(text.toLowerCase(), embedding);
+        results.put(text, embedding);
+      }
+
+      // Per-item fallback for anything the batch response left out
+      for (String text : partialFailures) {
+        Embedding embedding = generateEmbedding(text);
+        if (!embedding.isEmpty()) {
+          results.put(text, embedding);
         }
-      } catch (Exception e) {
-        System.err.println("⚠️ Batch chunk embedding failed: " + e.getMessage());
       }
     }
 
@@ -163,25 +256,95 @@ public class EmbeddingService {
     return results;
   }
 
-  public double calculateCosineSimilarity(List<Float> vectorA, List<Float> vectorB) {
-    if (vectorA == null || vectorB == null || vectorA.size() != vectorB.size()) {
-      return 0.0;
+  /**
+   * batchGenerateEmbeddings, but aligned with {@code texts}: entry i is the
+   * vector for texts[i], or null if it could not be embedded.
+   */
+  public List<Embedding> batchGenerateAligned(List<String> texts) {
+    java.util.Map<String, Embedding> vectors = batchGenerateEmbeddings(texts);
+    List<Embedding> aligned = new java.util.ArrayList<>(texts.size());
+    for (String text : texts) {
+      Embedding e = text == null ? null : vectors.get(text.trim());
+      aligned.add(e == null || e.isEmpty() ? null : e);
     }
+    return aligned;
+  }
+
+  /**
+   * Sends one batchEmbedContents request for the whole chunk.
+   *
+   * @return embeddings aligned with {@code chunk} (entries may be null when the
+   *         response omitted them), or null if every attempt failed
+   */
+  private Embedding[] requestBatchEmbeddings(List<String> chunk) {
+    if (!breaker.tryAcquire()) {
+      System.err.println("🔌 [Gemini Batch Embedding] Circuit open, skipping " + chunk.size() + " texts.");
+      return null;
+    }
+
+    int maxRetries = 3;
+    int retryCount = 0;
+
+    while (retryCount < maxRetries) {
+      try {
+        String url = String.format(GEMINI_BATCH_URL, baseUrl, model, apiKey);
+
+        List<java.util.Map<String, Object>> requests = new java.util.ArrayList<>(chunk.size());
+        for (String text : chunk) {
+          java.util.Map<String, Object> request = new java.util.HashMap<>();
+          request.put("model", "models/" + model);
+          request.put("content", java.util.Collections.singletonMap("parts",
+              java.util.Collections.singletonList(java.util.Collections.singletonMap("text", text))));
+          requests.add(request);
+        }
+        String requestBody = mapper.writeValueAsString(java.util.Collections.singletonMap("requests", requests));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
-    double dotProduct = 0.0;
-    double normA = 0.0;
-    double normB = 0.0;
+        ResponseEntity<String> response = restTemplate.postForEntity(url, new HttpEntity<>(requestBody, headers),
+            String.class);
 
-    for (int i = 0; i < vectorA.size(); i++) {
-      dotProduct += vectorA.get(i) * vectorB.get(i);
-      normA += Math.pow(vectorA.get(i), 2);
-      normB += Math.pow(vectorB.get(i), 2);
+        JsonNode embeddings = mapper.readTree(response.getBody()).path("embeddings");
+        Embedding[] result = new Embedding[chunk.size()];
+        for (int i = 0; i < result.length && i < embeddings.size(); i++) {
+          result[i] = toEmbedding(embeddings.get(i).path("values"));
+        }
+
+        System.out.println("✅ [Gemini Batch Embedding] " + embeddings.size() + " / " + chunk.size()
+            + " vectors in one request");
+        breaker.onSuccess();
+        return result;
+
+      } catch (Exception e) {
+        retryCount++;
+        System.err.println("⚠️ [Batch Embedding Attempt " + retryCount + " Failed] " + e.getMessage());
+
+        if (!isOutage(e)) {
+          breaker.onIgnored();
+          return null;
+        }
+        if (!breaker.isAvailable())
+          break;
+        if (retryCount < maxRetries) {
+          try {
+            Thread.sleep(500 * retryCount);
+          } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            breaker.onIgnored();
+            return null;
+          }
+        }
+      }
     }
+    breaker.onFailure();
+    return null;
+  }
 
-    if (normA == 0 || normB == 0) {
+  public double calculateCosineSimilarity(Embedding vectorA, Embedding vectorB) {
+    if (vectorA == null || vectorB == null) {
       return 0.0;
     }
-
-    return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+    return vectorA.cosine(vectorB);
   }
 }
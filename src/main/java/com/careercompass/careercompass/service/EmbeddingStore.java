@@ -0,0 +1,293 @@
+package com.careercompass.careercompass.service;
+
+import com.google.common.hash.Hashing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EmbeddingStore
+ *
+ * Persistent L2 tier under the in-memory embedding cache. Vectors live in an
+ * append-only file that is memory-mapped at startup, so a restart only has to
+ * scan record headers instead of re-embedding the skill vocabulary.
+ *
+ * File layout (big-endian):
+ *
+ * <pre>
+ * header : int MAGIC, int VERSION, short modelLength, byte[modelLength] model (UTF-8)
+ * record : long keyHash, int dimension, float[dimension] values
+ * </pre>
+ *
+ * Records are keyed by a 64-bit hash of (model, text). A store written by a
+ * different embedding model is discarded on open.
+ *
+ * The file is mapped as one region, so it is capped at maxBytes (at most
+ * 2 GB). Once full, new vectors are simply not persisted; a file found larger
+ * than the cap is discarded on open. Any failure to open leaves the store
+ * disabled (every lookup misses) rather than failing startup.
+ */
+@Service
+public class EmbeddingStore {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingStore.class);
+
+    private static final int MAGIC = 0x43434542; // "CCEB"
+    private static final int VERSION = 1;
+    private static final int RECORD_HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final boolean enabled;
+    private final String model;
+    private final long maxBytes;
+
+    // keyHash -> file offset of the record's float payload
+    private final Map<Long, Long> offsets = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> dimensions = new ConcurrentHashMap<>();
+
+    // Written under the lock, read lock-free by get(); volatile so a lookup
+    // racing close() sees null rather than a half-torn-down store
+    private volatile FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private volatile long mappedLength;
+    private long writePosition;
+    private boolean fullLogged;
+
+    public EmbeddingStore(@Value("${embedding.store.path:.embedding-store/embeddings.bin}") String path,
+            @Value("${embedding.store.enabled:true}") boolean enabled,
+            @Value("${gemini.embedding.model:text-embedding-004}") String model,
+            @Value("${embedding.store.max-bytes:1073741824}") long maxBytes) {
+        this.path = Paths.get(path);
+        this.enabled = enabled;
+        this.model = model;
+        // A MappedByteBuffer is int-indexed
+        this.maxBytes = Math.min(maxBytes, Integer.MAX_VALUE);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled)
+            return;
+
+        long start = System.nanoTime();
+        try {
+            if (path.getParent() != null)
+                Files.createDirectories(path.getParent());
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            if (channel.size() > maxBytes) {
+                log.warn("♻️ Embedding store {} is {} bytes, over the {} byte cap; discarding it", path,
+                        channel.size(), maxBytes);
+                resetWithHeader();
+            } else if (channel.size() == 0 || !headerMatches()) {
+                if (channel.size() > 0)
+                    log.info("♻️ Embedding store was written by a different model; discarding {}", path);
+                resetWithHeader();
+            }
+
+            mappedLength = channel.size();
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, mappedLength);
+            writePosition = scanRecords();
+
+            if (writePosition < mappedLength) {
+                // Torn write from an earlier crash: drop the partial tail record
+                log.warn("⚠️ Truncating {} trailing bytes from embedding store", mappedLength - writePosition);
+                channel.truncate(writePosition);
+                mappedLength = writePosition;
+            }
+
+            log.info("✅ Embedding store loaded {} vectors for {} in {} ms", offsets.size(), model,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("❌ Could not open embedding store {}; continuing without it: {}", path, e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    private boolean headerMatches() throws IOException {
+        ByteBuffer fixed = ByteBuffer.allocate(Integer.BYTES * 2 + Short.BYTES);
+        if (channel.read(fixed, 0) < fixed.capacity())
+            return false;
+        fixed.flip();
+        if (fixed.getInt() != MAGIC || fixed.getInt() != VERSION)
+            return false;
+
+        byte[] expected = model.getBytes(StandardCharsets.UTF_8);
+        if (fixed.getShort() != expected.length)
+            return false;
+        ByteBuffer stored = ByteBuffer.allocate(expected.length);
+        channel.read(stored, fixed.capacity());
+        return java.util.Arrays.equals(stored.array(), expected);
+    }
+
+    private void resetWithHeader() throws IOException {
+        byte[] modelBytes = model.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * 2 + Short.BYTES + modelBytes.length);
+        header.putInt(MAGIC).putInt(VERSION).putShort((short) modelBytes.length).put(modelBytes).flip();
+
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+    }
+
+    /**
+     * Walks record headers in the mapped region and returns the offset just past
+     * the last complete record.
+     */
+    private long scanRecords() {
+        long pos = Integer.BYTES * 2;
+        pos += Short.BYTES + mapped.getShort((int) pos);
+
+        // mappedLength <= maxBytes <= Integer.MAX_VALUE, so in-range positions fit an int
+        while (pos + RECORD_HEADER_BYTES <= mappedLength) {
+            long keyHash = mapped.getLong((int) pos);
+            int dimension = mapped.getInt((int) pos + Long.BYTES);
+            long end = pos + RECORD_HEADER_BYTES + (long) dimension * Float.BYTES;
+            if (dimension <= 0 || end > mappedLength)
+                break;
+
+            dimensions.put(keyHash, dimension);
+            offsets.put(keyHash, pos + RECORD_HEADER_BYTES);
+            pos = end;
+        }
+        return pos;
+    }
+
+    /**
+     * Lock-free lookup. It may race close(), so every shared field is read
+     * once and null-checked; a store closed mid-lookup reports a miss.
+     */
+    public Embedding get(String text) {
+        FileChannel channel = this.channel;
+        MappedByteBuffer mapped = this.mapped;
+        if (channel == null || mapped == null || text == null)
+            return null;
+
+        long keyHash = hash(text);
+        Long offset = offsets.get(keyHash);
+        // put() records the dimension before the offset; close() may clear both
+        Integer dimension = dimensions.get(keyHash);
+        if (offset == null || dimension == null)
+            return null;
+
+        float[] values = new float[dimension];
+        try {
+            if (offset + (long) dimension * Float.BYTES <= mappedLength) {
+                // Inside the mapped region, which the cap keeps int-addressable
+                int base = offset.intValue();
+                for (int i = 0; i < dimension; i++) {
+                    values[i] = mapped.getFloat(base + i * Float.BYTES);
+                }
+            } else {
+                // Appended after startup: not in the mapped region yet
+                ByteBuffer buf = ByteBuffer.allocate(dimension * Float.BYTES);
+                long at = offset;
+                while (buf.hasRemaining()) {
+                    int n = channel.read(buf, at);
+                    if (n < 0)
+                        return null;
+                    at += n;
+                }
+                buf.flip();
+                buf.asFloatBuffer().get(values);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Embedding store read failed: {}", e.getMessage());
+            return null;
+        }
+        return Embedding.of(values);
+    }
+
+    public synchronized void put(String text, Embedding embedding) {
+        if (channel == null || text == null || embedding == null || embedding.isEmpty())
+            return;
+
+        long keyHash = hash(text);
+        if (offsets.containsKey(keyHash))
+            return;
+
+        float[] values = embedding.values();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + values.length * Float.BYTES);
+        record.putLong(keyHash).putInt(values.length);
+        record.asFloatBuffer().put(values);
+        record.position(record.capacity()).flip();
+
+        if (writePosition + record.capacity() > maxBytes) {
+            if (!fullLogged) {
+                log.warn("⚠️ Embedding store {} reached its {} byte cap; new vectors are no longer persisted",
+                        path, maxBytes);
+                fullLogged = true;
+            }
+            return;
+        }
+
+        try {
+            long at = writePosition;
+            while (record.hasRemaining()) {
+                at += channel.write(record, at);
+            }
+            dimensions.put(keyHash, values.length);
+            offsets.put(keyHash, writePosition + RECORD_HEADER_BYTES);
+            writePosition = at;
+        } catch (IOException e) {
+            log.warn("⚠️ Embedding store append failed: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return offsets.size();
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    private long hash(String text) {
+        return Hashing.murmur3_128().newHasher()
+                .putString(model, StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(text, StandardCharsets.UTF_8)
+                .hash()
+                .asLong();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel == null)
+            return;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("⚠️ Embedding store flush failed: {}", e.getMessage());
+        }
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            if (channel != null)
+                channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+        mapped = null;
+        offsets.clear();
+        dimensions.clear();
+    }
+}
@@ -0,0 +1,130 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * EmbeddingWarmupService
+ *
+ * Batch-embeds the whole skill taxonomy (names + keywords from skills.csv) in
+ * a background thread once the app is ready, so skill-to-skill similarity in
+ * MatchService is served from cache instead of the network.
+ */
+@Service
+public class EmbeddingWarmupService {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingWarmupService.class);
+
+    private static final int CHUNK_SIZE = 100;
+
+    public enum State {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+
+    private final EmbeddingService embeddingService;
+    private final CsvDataService csvDataService;
+    private final SkillSimilarityIndex similarityIndex;
+    private final boolean enabled;
+
+    private volatile State state = State.IDLE;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger embedded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public EmbeddingWarmupService(EmbeddingService embeddingService, CsvDataService csvDataService,
+            SkillSimilarityIndex similarityIndex, @Value("${embedding.warmup.enabled:true}") boolean enabled) {
+        this.embeddingService = embeddingService;
+        this.csvDataService = csvDataService;
+        this.similarityIndex = similarityIndex;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("⏭️ Embedding warm-up disabled");
+            return;
+        }
+        Thread worker = new Thread(this::warmUp, "embedding-warmup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Embeds every taxonomy term, one batch request per chunk. Safe to call
+     * again (e.g. after a taxonomy reload); cached terms are not re-fetched.
+     */
+    public synchronized void warmUp() {
+        Set<String> vocabulary = new LinkedHashSet<>();
+        vocabulary.addAll(csvDataService.getAllSkillNames());
+        vocabulary.addAll(csvDataService.getAllKeywords());
+        vocabulary.removeIf(s -> s == null || s.isBlank());
+
+        List<String> terms = new ArrayList<>(vocabulary);
+        state = State.RUNNING;
+        total.set(terms.size());
+        embedded.set(0);
+        failed.set(0);
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+
+        log.info("🔥 Warming embeddings for {} taxonomy terms...", terms.size());
+        try {
+            for (int i = 0; i < terms.size(); i += CHUNK_SIZE) {
+                List<String> chunk = terms.subList(i, Math.min(i + CHUNK_SIZE, terms.size()));
+                Map<String, Embedding> result = embeddingService.batchGenerateEmbeddings(chunk);
+                // Results are keyed by trimmed text, with duplicates collapsed
+                for (String term : chunk) {
+                    Embedding e = result.get(term.trim());
+                    if (e != null && !e.isEmpty()) {
+                        embedded.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                }
+                log.info("   🔥 Warm-up progress: {}/{} ({} failed)", embedded.get() + failed.get(), total.get(),
+                        failed.get());
+            }
+
+            // Taxonomy vectors may have changed (first run, model switch): refresh bridges
+            similarityIndex.rebuild();
+            state = State.COMPLETED;
+        } catch (Exception e) {
+            state = State.FAILED;
+            log.error("❌ Embedding warm-up failed: {}", e.getMessage());
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+        log.info("✅ Embedding warm-up {}: {}/{} terms in {} ms", state, embedded.get(), total.get(),
+                finishedAt - startedAt);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", state);
+        status.put("total", total.get());
+        status.put("embedded", embedded.get());
+        status.put("failed", failed.get());
+        status.put("similarityIndexSkills", similarityIndex.size());
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        status.put("elapsedMs", startedAt > 0 ? end - startedAt : 0);
+        return status;
+    }
+}
@@ -0,0 +1,267 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * FlatVectorIndex
+ *
+ * Exact cosine index. All vectors are normalized and packed row after row into
+ * one float[], so a query is a single sequential sweep over memory; the dot
+ * product is unrolled over four independent accumulators so the JIT can keep
+ * several multiply-adds in flight. Top-K is kept in a fixed-size min-heap,
+ * never sorting the full candidate list.
+ */
+public final class FlatVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_ROWS = 256;
+
+    private final int dimension;
+    private float[] data;
+    private int rows;
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FlatVectorIndex(int dimension) {
+        if (dimension <= 0)
+            throw new IllegalArgumentException("Invalid dimension " + dimension);
+        this.dimension = dimension;
+        this.data = new float[dimension * INITIAL_ROWS];
+    }
+
+    @Override
+    public int add(float[] vector) {
+        if (vector.length != dimension)
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+
+        double sum = 0;
+        for (float x : vector)
+            sum += (double) x * x;
+        float inv = sum == 0 ? 0f : (float) (1.0 / Math.sqrt(sum));
+
+        lock.writeLock().lock();
+        try {
+            int row = rows;
+            int offset = row * dimension;
+            if (offset + dimension > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, offset + dimension));
+            }
+            for (int i = 0; i < dimension; i++)
+                data[offset + i] = vector[i] * inv;
+            rows++;
+            return row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        lock.writeLock().lock();
+        try {
+            if (id >= 0 && id < rows && !deleted.get(id)) {
+                deleted.set(id);
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] query, int k, IntPredicate filter) {
+        if (query.length != dimension || k <= 0)
+            return List.of();
+        float[] q = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(k);
+            for (int row = 0; row < rows; row++) {
+                if (deleted.get(row) || !filter.test(row))
+                    continue;
+                top.offer(row, dot(q, data, row * dimension, dimension));
+            }
+            return top.drainBestFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One sweep over the rows for all queries: each row is read from memory once
+     * and scored against every query, instead of once per query.
+     */
+    @Override
+    public List<List<Hit>> searchBatch(float[][] queries, int k, IntPredicate filter) {
+        int n = queries.length;
+        float[][] q = new float[n][];
+        TopK[] tops = new TopK[n];
+        for (int i = 0; i < n; i++) {
+            if (queries[i] != null && queries[i].length == dimension && k > 0) {
+                q[i] = normalize(queries[i]);
+                tops[i] = new TopK(k);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rows; row++) {
+                if (deleted.get(row) || !filter.test(row))
+                    continue;
+                int offset = row * dimension;
+                for (int i = 0; i < n; i++) {
+                    if (tops[i] != null)
+                        tops[i].offer(row, dot(q[i], data, offset, dimension));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<List<Hit>> results = new ArrayList<>(n);
+        for (TopK top : tops)
+            results.add(top == null ? List.of() : top.drainBestFirst());
+        return results;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) data.length * Float.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Dot product of {@code q} with the row of {@code data} starting at
+     * {@code offset}.
+     */
+    static float dot(float[] q, float[] data, int offset, int length) {
+        float s0 = 0f, s1 = 0f, s2 = 0f, s3 = 0f;
+        int i = 0;
+        int upper = length & ~3;
+        for (; i < upper; i += 4) {
+            s0 += q[i] * data[offset + i];
+            s1 += q[i + 1] * data[offset + i + 1];
+            s2 += q[i + 2] * data[offset + i + 2];
+            s3 += q[i + 3] * data[offset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += q[i] * data[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static float[] normalize(float[] v) {
+        double sum = 0;
+        for (float x : v)
+            sum += (double) x * x;
+        float[] out = new float[v.length];
+        if (sum == 0)
+            return out;
+        float inv = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < v.length; i++)
+            out[i] = v[i] * inv;
+        return out;
+    }
+
+    /**
+     * Fixed-capacity min-heap on score: the root is the weakest of the current
+     * top-K, so most rows are rejected with one comparison.
+     */
+    static final class TopK {
+        private final float[] scores;
+        private final int[] ids;
+        private int size;
+
+        TopK(int k) {
+            this.scores = new float[k];
+            this.ids = new int[k];
+        }
+
+        void offer(int id, float score) {
+            if (size < scores.length) {
+                int i = size++;
+                scores[i] = score;
+                ids[i] = id;
+                siftUp(i);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> drainBestFirst() {
+            Hit[] out = new Hit[size];
+            for (int i = size - 1; i >= 0; i--) {
+                out[i] = new Hit(ids[0], scores[0]);
+                size--;
+                if (size > 0) {
+                    scores[0] = scores[size];
+                    ids[0] = ids[size];
+                    siftDown(0);
+                }
+            }
+            return new ArrayList<>(Arrays.asList(out));
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i])
+                    break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size)
+                    break;
+                int right = left + 1;
+                int smallest = right < size && scores[right] < scores[left] ? right : left;
+                if (scores[i] <= scores[smallest])
+                    break;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            float s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+}
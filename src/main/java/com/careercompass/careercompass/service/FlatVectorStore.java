@@ -0,0 +1,47 @@
+package com.careercompass.careercompass.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntFunction;
+
+/**
+ * FlatVectorStore
+ *
+ * In-process exact index (vector.store.type=flat): every query is scored
+ * against every snippet that passes the filter. At the knowledge base's size
+ * a FlatVectorIndex sweep takes well under a millisecond and, unlike HNSW,
+ * always returns the true top-K.
+ *
+ * With vector.local.quantization=int8 the index keeps int8 codes only
+ * (QuantizedVectorIndex, ~4x less heap) and re-ranks the best candidates with
+ * the float vectors in SnippetEmbedder's memory-mapped store.
+ */
+@Service
+@ConditionalOnProperty(name = "vector.store.type", havingValue = "flat")
+public class FlatVectorStore extends LocalVectorStore {
+
+    private final boolean quantized;
+    private final int rerankFactor;
+
+    public FlatVectorStore(SnippetEmbedder embedder,
+            @Value("${vector.local.quantization:none}") String quantization,
+            @Value("${vector.local.rerank-factor:4}") int rerankFactor) {
+        super(embedder);
+        this.quantized = "int8".equalsIgnoreCase(quantization);
+        this.rerankFactor = rerankFactor;
+    }
+
+    @Override
+    protected VectorIndex newIndex(int dimension, IntFunction<float[]> storedVectors) {
+        return quantized
+                ? new QuantizedVectorIndex(dimension, rerankFactor, storedVectors)
+                : new FlatVectorIndex(dimension);
+    }
+
+    @Override
+    protected String name() {
+        return quantized ? "flat/int8" : "flat";
+    }
+}
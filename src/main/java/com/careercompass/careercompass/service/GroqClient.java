@@ -1,17 +1,45 @@
 package com.careercompass.careercompass.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class GroqClient {
@@ -20,74 +48,444 @@ public class GroqClient {
     @Value("${groq.api.key}")
     private String groqApiKey;
 
-    private static final String GROQ_URL = "https://api.groq.com/openai/v1/chat/completions";
+    @Value("${groq.api.url:https://api.groq.com/openai/v1/chat/completions}")
+    private String groqUrl = "https://api.groq.com/openai/v1/chat/completions";
+
     private static final String MODEL_POWERFUL = "llama-3.3-70b-versatile";
     private static final String MODEL_FAST = "llama-3.3-70b-versatile";
     private static final String MODEL_BALANCED = "llama-3.3-70b-versatile";
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Retry n waits backoff-ms * n^2
+    @Value("${groq.retry.backoff-ms:1000}")
+    private long backoffMs = 1000;
+
+    // One pooled client for every Groq call (HTTP/2 multiplexed over TLS when
+    // the server offers it). Connect: TCP+TLS handshake; read: max gap between
+    // bytes; call: whole attempt, from DNS to the last byte of the body
+    @Value("${groq.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs = 5000;
+
+    @Value("${groq.http.read-timeout-ms:30000}")
+    private long readTimeoutMs = 30000;
+
+    @Value("${groq.http.call-timeout-ms:60000}")
+    private long callTimeoutMs = 60000;
+
+    // Streamed completions stay open while tokens arrive, so they get longer
+    @Value("${groq.http.stream-timeout-ms:120000}")
+    private long streamTimeoutMs = 120000;
+
+    @Value("${groq.http.max-concurrent-requests:64}")
+    private int maxConcurrentRequests = 64;
+
+    @Value("${groq.http.max-idle-connections:8}")
+    private int maxIdleConnections = 8;
+
+    // Adaptive concurrency (AIMD between min and max-concurrent-requests) and
+    // per-lane queue bounds; see GroqRateLimiter
+    @Value("${groq.limit.initial-concurrency:8}")
+    private int initialConcurrency = 8;
+
+    @Value("${groq.limit.min-concurrency:1}")
+    private int minConcurrency = 1;
+
+    @Value("${groq.limit.max-queue:50}")
+    private int maxQueue = 50;
+
+    @Value("${groq.limit.max-wait-ms:10000}")
+    private long maxWaitMs = 10000;
+
+    // Rough completion size counted against the tokens-per-minute quota
+    private static final int COMPLETION_TOKEN_ESTIMATE = 512;
+
+    private GroqRateLimiter rateLimiter;
+    private OkHttpClient httpClient;
+    private OkHttpClient streamClient;
     private final ObjectMapper objectMapper;
     private final CacheService cacheService;
+    private final CircuitBreaker breaker;
 
     public enum QueryComplexity {
         FAST, BALANCED, POWERFUL
     }
 
-    public GroqClient(CacheService cacheService) {
+    /**
+     * Admission lane; INTERACTIVE (a user is waiting on chat) always goes
+     * before BATCH (profile and JD analysis).
+     */
+    public enum Priority {
+        INTERACTIVE, BATCH
+    }
+
+    public GroqClient(CacheService cacheService, CircuitBreakers breakers) {
         this.cacheService = cacheService;
+        this.breaker = breakers.groq();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.configure(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS.mappedFeature(), true);
     }
 
+    @PostConstruct
+    public void init() {
+        // OkHttp's default allows only 5 concurrent calls per host
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrentRequests);
+        dispatcher.setMaxRequestsPerHost(maxConcurrentRequests);
+
+        httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .callTimeout(Duration.ofMillis(callTimeoutMs))
+                .build();
+        // Shares the pool and dispatcher
+        streamClient = httpClient.newBuilder()
+                .callTimeout(Duration.ofMillis(streamTimeoutMs))
+                .build();
+        rateLimiter = new GroqRateLimiter(initialConcurrency, minConcurrency, maxConcurrentRequests, maxQueue,
+                maxWaitMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (httpClient != null) {
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Blocking form of callGroqAsync, for callers that have nothing to overlap
+     * with the LLM call.
+     */
     public String callGroq(String prompt, QueryComplexity complexity) {
+        return callGroqAsync(prompt, complexity).join();
+    }
+
+    public String callGroq(String prompt, QueryComplexity complexity, Priority priority) {
+        return callGroqAsync(prompt, complexity, priority).join();
+    }
+
+    public CompletableFuture<String> callGroqAsync(String prompt, QueryComplexity complexity) {
+        return callGroqAsync(prompt, complexity, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Sends the prompt without blocking the calling thread, once the rate
+     * limiter admits it. The future completes with the reply text, or with null
+     * if the call was shed (lane queue full, or waited too long) or all
+     * attempts failed. It never completes exceptionally. Transport errors, 408
+     * and 5xx are retried with quadratic backoff. 429s are retried as soon as
+     * the limiter reopens. Other 4xx are not retried. While the Groq circuit is
+     * open the future completes with null at once, and callers fall back.
+     */
+    public CompletableFuture<String> callGroqAsync(String prompt, QueryComplexity complexity, Priority priority) {
         if (prompt == null || prompt.isBlank())
-            return null;
+            return CompletableFuture.completedFuture(null);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(buildBody(prompt, complexity));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Could not serialize Groq request: {}", e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!breaker.tryAcquire()) {
+            log.warn("🔌 Groq circuit open, skipping {} call", priority);
+            return CompletableFuture.completedFuture(null);
+        }
+        return attempt(json, estimateTokens(prompt), priority, 1);
+    }
 
-        String model = selectModel(complexity);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(groqApiKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
+    private CompletableFuture<String> attempt(byte[] json, int tokens, Priority priority, int attempt) {
+        return rateLimiter.acquire(priority, tokens)
+                .thenCompose(permit -> send(json, permit))
+                .handle((text, failure) -> {
+                    if (failure == null) {
+                        breaker.onSuccess();
+                        return CompletableFuture.completedFuture(text);
+                    }
+                    Throwable error = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure;
+                    if (error instanceof RejectedExecutionException || error instanceof TimeoutException) {
+                        log.warn("🚦 Groq {} call shed: {}", priority,
+                                error.getMessage() != null ? error.getMessage() : "waited too long");
+                        breaker.onIgnored();
+                        return CompletableFuture.<String>completedFuture(null);
+                    }
+                    log.warn("⚠️ Groq API Error (Attempt {}/{}): {}", attempt, MAX_ATTEMPTS, error.getMessage());
+                    boolean retryable = !(error instanceof GroqHttpException http) || http.isRetryable();
+                    if (!retryable) {
+                        breaker.onIgnored();
+                        return CompletableFuture.<String>completedFuture(null);
+                    }
+                    // Stop early once the circuit opened (or this call is the probe)
+                    if (attempt >= MAX_ATTEMPTS || !breaker.isAvailable()) {
+                        breaker.onFailure();
+                        return CompletableFuture.<String>completedFuture(null);
+                    }
+                    // After a 429 the limiter holds the call until the quota window reopens
+                    long delayMs = error instanceof GroqHttpException http && http.status == 429
+                            ? 0
+                            : this.backoffMs * attempt * attempt;
+                    return CompletableFuture.runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(json, tokens, priority, attempt + 1));
+                }).thenCompose(Function.identity());
+    }
 
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", model);
-        body.put("messages", List.of(
-                Map.of("role", "system", "content", "You are a professional career assistant."),
-                Map.of("role", "user", "content", prompt)));
+    private CompletableFuture<String> send(byte[] json, GroqRateLimiter.Permit permit) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        httpClient.newCall(request(json)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                rateLimiter.onFailure(permit);
+                reply.completeExceptionally(e);
+            }
 
-        // Adjust temperature based on complexity
-        switch (complexity) {
-            case FAST -> body.put("temperature", 0.2);
-            case BALANCED -> body.put("temperature", 0.4);
-            case POWERFUL -> body.put("temperature", 0.5);
+            @Override
+            public void onResponse(Call call, Response response) {
+                rateLimiter.onResponse(permit, response.code(), response::header);
+                try (response) {
+                    if (!response.isSuccessful() || response.body() == null)
+                        throw new GroqHttpException(response.code());
+                    reply.complete(readContent(response.body().byteStream(), objectMapper));
+                } catch (Exception e) {
+                    reply.completeExceptionally(e);
+                }
+            }
+        });
+        return reply;
+    }
+
+    private static int estimateTokens(String prompt) {
+        // ~4 characters per token for English text
+        return prompt.length() / 4 + COMPLETION_TOKEN_ESTIMATE;
+    }
+
+    /**
+     * False while the Groq circuit is open; callers can skip building a prompt
+     * that would not be sent.
+     */
+    public boolean isAvailable() {
+        return breaker.isAvailable();
+    }
+
+    public Map<String, Object> getRateLimitStatus() {
+        return rateLimiter.status();
+    }
+
+    private Request request(byte[] json) {
+        return new Request.Builder()
+                .url(groqUrl)
+                .header("Authorization", "Bearer " + groqApiKey)
+                .post(RequestBody.create(json, JSON))
+                .build();
+    }
+
+    /**
+     * choices[0].message.content of a (non-streamed) chat completion, or null.
+     */
+    static String readContent(InputStream body, ObjectMapper mapper) throws IOException {
+        JsonNode content = mapper.readTree(body).path("choices").path(0).path("message").path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+
+    static final class GroqHttpException extends IOException {
+        private final int status;
+
+        GroqHttpException(int status) {
+            super("HTTP " + status);
+            this.status = status;
         }
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
+        boolean isRetryable() {
+            return status == 408 || status == 429 || status >= 500;
+        }
+    }
+
+    /**
+     * As callGroq, but with {@code stream: true}: each content delta is handed
+     * to {@code onToken} as soon as Groq sends it. Returns the full completion,
+     * or null if the call failed. A call is only retried while nothing has
+     * been streamed yet, so the consumer never sees text twice. Returns null
+     * at once while the Groq circuit is open. An exception thrown by
+     * {@code onToken} ends the call and is rethrown as is.
+     *
+     * Completing {@code cancel} (the client went away) stops the call
+     * wherever it is: waiting for the limiter, the HTTP exchange, or the
+     * backoff; the method then returns null.
+     */
+    public String streamGroq(String prompt, QueryComplexity complexity, Consumer<String> onToken,
+            CompletableFuture<Void> cancel) {
+        if (prompt == null || prompt.isBlank())
+            return null;
+
+        Map<String, Object> body = buildBody(prompt, complexity);
+        body.put("stream", true);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Could not serialize Groq request: {}", e.getMessage());
+            return null;
+        }
+        if (!breaker.tryAcquire()) {
+            log.warn("🔌 Groq circuit open, skipping stream");
+            return null;
+        }
 
-        int maxRetries = 3;
-        for (int i = 0; i < maxRetries; i++) {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            GroqRateLimiter.Permit permit;
+            CompletableFuture<GroqRateLimiter.Permit> admission = rateLimiter.acquire(Priority.INTERACTIVE,
+                    estimateTokens(prompt));
+            // A permit granted after the cancel is handed back by the limiter
+            cancel.thenRun(() -> admission.cancel(false));
             try {
-                ResponseEntity<Map> response = restTemplate.postForEntity(GROQ_URL, entity, Map.class);
-                if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                    Map<String, Object> responseBody = response.getBody();
-                    List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-                    if (choices != null && !choices.isEmpty()) {
-                        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                        return (String) message.get("content");
-                    }
+                permit = admission.join();
+            } catch (CancellationException e) {
+                breaker.onIgnored();
+                return null;
+            } catch (CompletionException e) {
+                log.warn("🚦 Groq stream shed: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                breaker.onIgnored();
+                return null;
+            }
+
+            AtomicBoolean emitted = new AtomicBoolean();
+            Request request = request(json).newBuilder()
+                    .header("Accept", "text/event-stream")
+                    .build();
+            Call call = streamClient.newCall(request);
+            cancel.thenRun(call::cancel);
+            Exception error;
+            // The permit is held until the stream ends
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    rateLimiter.onResponse(permit, response.code(), response::header);
+                    throw new GroqHttpException(response.code());
                 }
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(response.body().byteStream(), StandardCharsets.UTF_8));
+                String text = readEventStream(reader, objectMapper, token -> {
+                    emitted.set(true);
+                    try {
+                        onToken.accept(token);
+                    } catch (RuntimeException e) {
+                        throw new ConsumerFailure(e);
+                    }
+                });
+                rateLimiter.onResponse(permit, response.code(), response::header);
+                breaker.onSuccess();
+                return text;
+            } catch (ConsumerFailure e) {
+                // The caller stopped listening (e.g. the SSE client left); not Groq's fault
+                rateLimiter.onAbandoned(permit);
+                breaker.onIgnored();
+                throw (RuntimeException) e.getCause();
             } catch (Exception e) {
-                log.warn("⚠️ Groq API Error (Attempt {}/{}): {}", (i + 1), maxRetries, e.getMessage());
-                if (i == maxRetries - 1)
+                if (cancel.isDone()) {
+                    // Our own call.cancel(), not a Groq failure
+                    rateLimiter.onAbandoned(permit);
+                    breaker.onIgnored();
                     return null;
-                try {
-                    Thread.sleep(1000L * (i + 1) * (i + 1));
-                } catch (InterruptedException ignored) {
                 }
+                // No-op if the response already released it
+                rateLimiter.onFailure(permit);
+                error = e;
+            }
+
+            log.warn("⚠️ Groq stream error (Attempt {}/{}): {}", (i + 1), MAX_ATTEMPTS, error.getMessage());
+            boolean retryable = !(error instanceof GroqHttpException http) || http.isRetryable();
+            if (!retryable) {
+                breaker.onIgnored();
+                return null;
+            }
+            if (emitted.get() || i == MAX_ATTEMPTS - 1 || !breaker.isAvailable()) {
+                breaker.onFailure();
+                return null;
+            }
+            if (error instanceof GroqHttpException http && http.status == 429)
+                continue;
+            try {
+                // Backoff that ends early on cancel
+                cancel.get(backoffMs * (i + 1) * (i + 1), TimeUnit.MILLISECONDS);
+                breaker.onIgnored();
+                return null;
+            } catch (TimeoutException ignored) {
+                // Backoff over; retry
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                breaker.onIgnored();
+                return null;
+            } catch (ExecutionException | CancellationException e) {
+                breaker.onIgnored();
+                return null;
             }
         }
         return null;
     }
 
+    /**
+     * Carries an exception thrown by streamGroq's token consumer past the
+     * handling meant for Groq errors.
+     */
+    private static final class ConsumerFailure extends RuntimeException {
+        ConsumerFailure(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Reads an OpenAI-style chat completion event stream ("data: {json}" lines
+     * ending with "data: [DONE]"), passing each content delta to onToken.
+     * Returns the concatenated text.
+     */
+    static String readEventStream(BufferedReader reader, ObjectMapper mapper, Consumer<String> onToken)
+            throws IOException {
+        StringBuilder full = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:"))
+                continue;
+            String data = line.substring(5).trim();
+            if (data.equals("[DONE]"))
+                break;
+            if (data.isEmpty())
+                continue;
+
+            JsonNode chunk = mapper.readTree(data);
+            if (chunk.has("error"))
+                throw new IOException("Groq stream error: " + chunk.path("error").path("message").asText());
+            JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+            if (content.isTextual() && !content.asText().isEmpty()) {
+                full.append(content.asText());
+                onToken.accept(content.asText());
+            }
+        }
+        return full.toString();
+    }
+
+    private Map<String, Object> buildBody(String prompt, QueryComplexity complexity) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("model", selectModel(complexity));
+        body.put("messages", List.of(
+                Map.of("role", "system", "content", "You are a professional career assistant."),
+                Map.of("role", "user", "content", prompt)));
+
+        // Adjust temperature based on complexity
+        switch (complexity) {
+            case FAST -> body.put("temperature", 0.2);
+            case BALANCED -> body.put("temperature", 0.4);
+            case POWERFUL -> body.put("temperature", 0.5);
+        }
+        return body;
+    }
+
     public String selectModel(QueryComplexity complexity) {
         return switch (complexity) {
             case FAST -> MODEL_FAST;
@@ -97,7 +495,7 @@ public class GroqClient {
     }
 
     public String getGroqUrl() {
-        return GROQ_URL;
+        return groqUrl;
     }
 
     public String getApiKey() {
@@ -107,8 +505,4 @@ public class GroqClient {
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
-
-    public RestTemplate getRestTemplate() {
-        return restTemplate;
-    }
 }
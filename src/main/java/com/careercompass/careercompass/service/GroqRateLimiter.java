@@ -0,0 +1,332 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GroqRateLimiter
+ *
+ * Admission control in front of every Groq call. It combines three limits:
+ * - Quota: Groq reports the remaining requests and tokens in the current
+ *   window, plus when each resets (x-ratelimit-* headers), on every response.
+ *   Once either runs out, or a 429 arrives with retry-after, nothing is sent
+ *   until the window resets. No more 429 storms.
+ * - Concurrency: an AIMD limit. It grows by 1/limit per success (about +1
+ *   per round of calls) and halves on a 429, a 5xx or a timeout, so in-flight
+ *   calls track what Groq currently absorbs.
+ * - Lanes: queued INTERACTIVE calls (chat) are always admitted before BATCH
+ *   ones (profile analysis). A lane whose queue is full rejects immediately,
+ *   and a call that waits longer than maxWaitMs is dropped. Under overload
+ *   callers fail fast instead of building a long tail.
+ *
+ * acquire() never blocks: it returns a future that completes when the call
+ * may go out.
+ */
+public class GroqRateLimiter {
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    /**
+     * A granted slot; hand it back with onResponse() or onFailure().
+     */
+    public final class Permit {
+        private boolean released;
+
+        private Permit() {
+        }
+    }
+
+    private record Waiter(CompletableFuture<Permit> future, int tokens) {
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitMs;
+
+    private final Map<GroqClient.Priority, Deque<Waiter>> queues = new EnumMap<>(GroqClient.Priority.class);
+
+    private double limit;
+    private int inFlight;
+
+    // Last values Groq reported; -1 = unknown (no response yet)
+    private long remainingRequests = -1;
+    private long remainingTokens = -1;
+    private long requestsResetAt;
+    private long tokensResetAt;
+    private long blockedUntil;
+    private boolean wakeScheduled;
+
+    private long rejected;
+    private long throttled;
+
+    public GroqRateLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, long maxWaitMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.maxQueue = Math.max(1, maxQueue);
+        this.maxWaitMs = maxWaitMs;
+        for (GroqClient.Priority priority : GroqClient.Priority.values())
+            queues.put(priority, new ArrayDeque<>());
+    }
+
+    /**
+     * Completes with a Permit once a call of about {@code tokens} tokens may be
+     * sent. Fails with RejectedExecutionException right away if the lane's
+     * queue is full, or with a TimeoutException after maxWaitMs.
+     */
+    public CompletableFuture<Permit> acquire(GroqClient.Priority priority, int tokens) {
+        CompletableFuture<Permit> future = new CompletableFuture<>();
+        synchronized (this) {
+            Deque<Waiter> queue = queues.get(priority);
+            queue.removeIf(w -> w.future().isDone());
+            if (queue.size() >= maxQueue) {
+                rejected++;
+                future.completeExceptionally(new RejectedExecutionException(
+                        "Groq " + priority + " queue is full (" + queue.size() + " waiting)"));
+                return future;
+            }
+            queue.addLast(new Waiter(future, tokens));
+        }
+        if (maxWaitMs > 0)
+            future.orTimeout(maxWaitMs, TimeUnit.MILLISECONDS);
+        drain();
+        return future;
+    }
+
+    /**
+     * The call got an HTTP response. {@code header} looks up response headers
+     * by name (null if absent).
+     */
+    public void onResponse(Permit permit, int status, Function<String, String> header) {
+        synchronized (this) {
+            if (!release(permit))
+                return;
+            long now = now();
+            long reportedRequests = parseLong(header.apply("x-ratelimit-remaining-requests"));
+            if (reportedRequests >= 0)
+                remainingRequests = reportedRequests;
+            long reportedTokens = parseLong(header.apply("x-ratelimit-remaining-tokens"));
+            if (reportedTokens >= 0)
+                remainingTokens = reportedTokens;
+            long resetRequests = parseDurationNanos(header.apply("x-ratelimit-reset-requests"));
+            if (resetRequests >= 0)
+                requestsResetAt = now + resetRequests;
+            long resetTokens = parseDurationNanos(header.apply("x-ratelimit-reset-tokens"));
+            if (resetTokens >= 0)
+                tokensResetAt = now + resetTokens;
+
+            if (status == 429) {
+                throttled++;
+                long retryAfter = parseDurationNanos(header.apply("retry-after"));
+                if (retryAfter < 0)
+                    retryAfter = Math.max(0, Math.max(requestsResetAt, tokensResetAt) - now);
+                blockedUntil = Math.max(blockedUntil, now + retryAfter);
+                decrease();
+            } else if (status >= 500) {
+                decrease();
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * The call failed without a response (connect/read timeout, reset).
+     */
+    public void onFailure(Permit permit) {
+        synchronized (this) {
+            if (!release(permit))
+                return;
+            decrease();
+        }
+        drain();
+    }
+
+    public synchronized Map<String, Object> status() {
+        long now = now();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("concurrencyLimit", Math.round(limit * 100) / 100.0);
+        status.put("inFlight", inFlight);
+        queues.forEach((priority, queue) -> status.put("queued" + capitalize(priority.name()),
+                queue.stream().filter(w -> !w.future().isDone()).count()));
+        status.put("remainingRequests", remainingRequests);
+        status.put("remainingTokens", remainingTokens);
+        status.put("blockedForMs", Math.max(0, TimeUnit.NANOSECONDS.toMillis(blockedUntil - now)));
+        status.put("rejected", rejected);
+        status.put("throttled", throttled);
+        return status;
+    }
+
+    synchronized double limit() {
+        return limit;
+    }
+
+    private void drain() {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        List<Permit> permits = new ArrayList<>();
+        synchronized (this) {
+            long now = now();
+            while (inFlight < (int) limit) {
+                Waiter next = nextWaiter();
+                if (next == null)
+                    break;
+                if (!canSend(next.tokens(), now)) {
+                    scheduleWake(now);
+                    break;
+                }
+                pollWaiter(next);
+                inFlight++;
+                // Spend quota locally until the response reports the real numbers
+                if (remainingRequests > 0)
+                    remainingRequests--;
+                if (remainingTokens > 0)
+                    remainingTokens = Math.max(0, remainingTokens - next.tokens());
+                granted.add(next.future());
+                permits.add(new Permit());
+            }
+        }
+        for (int i = 0; i < granted.size(); i++) {
+            // Timed out meanwhile: give the slot straight back
+            if (!granted.get(i).complete(permits.get(i)))
+                onAbandoned(permits.get(i));
+        }
+    }
+
+    /**
+     * The caller gave up on the call for its own reasons (e.g. its client went
+     * away); frees the slot without judging Groq.
+     */
+    public void onAbandoned(Permit permit) {
+        synchronized (this) {
+            if (!release(permit))
+                return;
+        }
+        drain();
+    }
+
+    private Waiter nextWaiter() {
+        for (GroqClient.Priority priority : GroqClient.Priority.values()) {
+            Deque<Waiter> queue = queues.get(priority);
+            while (!queue.isEmpty() && queue.peekFirst().future().isDone())
+                queue.pollFirst();
+            if (!queue.isEmpty())
+                return queue.peekFirst();
+        }
+        return null;
+    }
+
+    private void pollWaiter(Waiter waiter) {
+        for (Deque<Waiter> queue : queues.values()) {
+            if (queue.peekFirst() == waiter) {
+                queue.pollFirst();
+                return;
+            }
+        }
+    }
+
+    private boolean canSend(int tokens, long now) {
+        if (now < blockedUntil)
+            return false;
+        if (remainingRequests == 0 && now < requestsResetAt)
+            return false;
+        // A call larger than the whole remaining budget still goes out once the
+        // window is fresh; Groq is the judge of that
+        return !(remainingTokens >= 0 && remainingTokens < tokens && now < tokensResetAt);
+    }
+
+    private void scheduleWake(long now) {
+        if (wakeScheduled)
+            return;
+        long until = blockedUntil;
+        if (remainingRequests == 0)
+            until = Math.max(until, requestsResetAt);
+        if (remainingTokens >= 0 && now < tokensResetAt)
+            until = Math.max(until, tokensResetAt);
+        long delayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), until - now);
+        wakeScheduled = true;
+        CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                wakeScheduled = false;
+                // The window is over; forget the spent quota until Groq reports again
+                long t = now();
+                if (t >= requestsResetAt && remainingRequests == 0)
+                    remainingRequests = -1;
+                if (t >= tokensResetAt)
+                    remainingTokens = -1;
+            }
+            drain();
+        }, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private boolean release(Permit permit) {
+        if (permit.released)
+            return false;
+        permit.released = true;
+        inFlight--;
+        return true;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit / 2);
+    }
+
+    long now() {
+        return System.nanoTime();
+    }
+
+    private static long parseLong(String value) {
+        if (value == null || value.isBlank())
+            return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Groq's reset format ("2m59.56s", "7.66s", "120ms") or a plain
+     * retry-after in seconds; -1 if absent or unparseable.
+     */
+    static long parseDurationNanos(String value) {
+        if (value == null || value.isBlank())
+            return -1;
+        String v = value.trim();
+        try {
+            return (long) (Double.parseDouble(v) * 1_000_000_000L);
+        } catch (NumberFormatException ignored) {
+            // Not plain seconds; try the unit format
+        }
+        Matcher m = DURATION_PART.matcher(v);
+        double nanos = 0;
+        boolean any = false;
+        while (m.find()) {
+            double amount = Double.parseDouble(m.group(1));
+            nanos += switch (m.group(2)) {
+                case "h" -> amount * 3_600_000_000_000L;
+                case "m" -> amount * 60_000_000_000L;
+                case "s" -> amount * 1_000_000_000L;
+                default -> amount * 1_000_000L;
+            };
+            any = true;
+        }
+        return any ? (long) nanos : -1;
+    }
+
+    private static String capitalize(String name) {
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+}
@@ -0,0 +1,374 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * HnswIndex
+ *
+ * Hierarchical Navigable Small World graph (Malkov &amp; Yashunin) for
+ * approximate cosine nearest-neighbour search. Vectors are normalized on
+ * insert, so similarity is a plain dot product.
+ *
+ * Nodes are dense ints in insertion order. Deleted nodes stay in the graph as
+ * waypoints but are never returned; rebuild the index if many pile up.
+ *
+ * Inserts take a write lock, searches a read lock, so one index can be queried
+ * while it is being extended.
+ */
+public final class HnswIndex implements VectorIndex {
+
+    private record Candidate(int node, float score) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = (a, b) -> Float.compare(b.score, a.score);
+    private static final Comparator<Candidate> WORST_FIRST = (a, b) -> Float.compare(a.score, b.score);
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private final List<float[]> vectors = new ArrayList<>();
+    // links.get(node)[level] = neighbour ids at that level
+    private final List<int[][]> links = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param dimension      vector length
+     * @param m              neighbours per node on upper levels (2m on level 0)
+     * @param efConstruction candidate list size while inserting
+     * @param efSearch       default candidate list size while searching
+     */
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch) {
+        this(dimension, m, efConstruction, efSearch, 42L);
+    }
+
+    HnswIndex(int dimension, int m, int efConstruction, int efSearch, long seed) {
+        if (dimension <= 0 || m < 2 || efConstruction < 1)
+            throw new IllegalArgumentException("Invalid HNSW parameters");
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = Math.max(efSearch, 1);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public int add(float[] vector) {
+        if (vector.length != dimension)
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+        float[] q = normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            int node = vectors.size();
+            int level = randomLevel();
+            vectors.add(q);
+            int[][] nodeLinks = new int[level + 1][];
+            for (int l = 0; l <= level; l++)
+                nodeLinks[l] = new int[0];
+            links.add(nodeLinks);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return node;
+            }
+
+            int ep = entryPoint;
+            for (int l = maxLevel; l > level; l--) {
+                ep = greedyClosest(q, ep, l);
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                List<Candidate> found = searchLayer(q, ep, efConstruction, l);
+                int[] neighbours = selectNeighbours(found, m);
+                nodeLinks[l] = neighbours;
+                for (int n : neighbours) {
+                    connect(n, node, l);
+                }
+                ep = found.get(0).node();
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+            return node;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int node) {
+        lock.writeLock().lock();
+        try {
+            if (node >= 0 && node < vectors.size() && !deleted.get(node)) {
+                deleted.set(node);
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} live nodes closest to the query, best first.
+     *
+     * @param ef candidate list size; larger is slower but more accurate
+     */
+    public List<Hit> search(float[] query, int k, int ef) {
+        return search(query, k, ef, node -> true);
+    }
+
+    @Override
+    public List<Hit> search(float[] query, int k, IntPredicate filter) {
+        return search(query, k, efSearch, filter);
+    }
+
+    /**
+     * As {@link #search(float[], int, int)}, returning only nodes accepted by
+     * {@code filter}. The beam doubles until k accepted nodes are found or the
+     * whole graph has been reached, so selective filters stay exact at the cost
+     * of a wider walk.
+     */
+    public List<Hit> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (query.length != dimension || k <= 0)
+            return List.of();
+        float[] q = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0)
+                return List.of();
+
+            int ep = entryPoint;
+            for (int l = maxLevel; l > 0; l--) {
+                ep = greedyClosest(q, ep, l);
+            }
+
+            int total = vectors.size();
+            int beam = Math.max(ef, k);
+            while (true) {
+                List<Hit> results = new ArrayList<>(k);
+                List<Candidate> found = searchLayer(q, ep, beam, 0);
+                for (Candidate c : found) {
+                    if (!deleted.get(c.node()) && filter.test(c.node())) {
+                        results.add(new Hit(c.node(), c.score()));
+                        if (results.size() == k)
+                            return results;
+                    }
+                }
+                if (found.size() < beam || beam >= total)
+                    return results;
+                beam = Math.min(beam * 2, total);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return vectors.size() - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) vectors.size() * dimension * Float.BYTES;
+            for (int[][] nodeLinks : links) {
+                for (int[] level : nodeLinks)
+                    bytes += (long) level.length * Integer.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int levels() {
+        lock.readLock().lock();
+        try {
+            return maxLevel + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int randomLevel() {
+        double r = 1.0 - random.nextDouble(); // (0, 1]
+        return (int) Math.floor(-Math.log(r) * levelMultiplier);
+    }
+
+    private int greedyClosest(float[] q, int start, int level) {
+        int current = start;
+        float best = dot(q, vectors.get(current));
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int n : links.get(current)[level]) {
+                float s = dot(q, vectors.get(n));
+                if (s > best) {
+                    best = s;
+                    current = n;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one level; returns up to ef candidates, best first.
+     */
+    private List<Candidate> searchLayer(float[] q, int entry, int ef, int level) {
+        BitSet visited = new BitSet(vectors.size());
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> found = new PriorityQueue<>(WORST_FIRST);
+
+        Candidate start = new Candidate(entry, dot(q, vectors.get(entry)));
+        visited.set(entry);
+        frontier.add(start);
+        found.add(start);
+
+        while (!frontier.isEmpty()) {
+            Candidate c = frontier.poll();
+            if (found.size() >= ef && c.score() < found.peek().score())
+                break;
+
+            int[][] nodeLinks = links.get(c.node());
+            if (level >= nodeLinks.length)
+                continue;
+            for (int n : nodeLinks[level]) {
+                if (visited.get(n))
+                    continue;
+                visited.set(n);
+                float s = dot(q, vectors.get(n));
+                if (found.size() < ef || s > found.peek().score()) {
+                    Candidate next = new Candidate(n, s);
+                    frontier.add(next);
+                    found.add(next);
+                    if (found.size() > ef)
+                        found.poll();
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(found);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * Neighbour selection heuristic: keep a candidate only if it is closer to the
+     * base than to every neighbour already kept, which spreads links across
+     * clusters. Remaining slots are filled with the best pruned candidates.
+     *
+     * @param candidates best first, scored against the base vector
+     */
+    private int[] selectNeighbours(List<Candidate> candidates, int max) {
+        List<Candidate> kept = new ArrayList<>(max);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate c : candidates) {
+            if (kept.size() >= max)
+                break;
+            float[] v = vectors.get(c.node());
+            boolean diverse = true;
+            for (Candidate k : kept) {
+                if (dot(v, vectors.get(k.node())) > c.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse)
+                kept.add(c);
+            else
+                pruned.add(c);
+        }
+        for (int i = 0; i < pruned.size() && kept.size() < max; i++) {
+            kept.add(pruned.get(i));
+        }
+
+        int[] ids = new int[kept.size()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = kept.get(i).node();
+        return ids;
+    }
+
+    /**
+     * Adds a back-link from {@code node} to {@code neighbour}, re-selecting
+     * node's neighbours if the level is over capacity.
+     */
+    private void connect(int node, int neighbour, int level) {
+        int[][] nodeLinks = links.get(node);
+        int[] current = nodeLinks[level];
+        int max = level == 0 ? maxM0 : m;
+
+        if (current.length < max) {
+            int[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = neighbour;
+            nodeLinks[level] = grown;
+            return;
+        }
+
+        float[] base = vectors.get(node);
+        List<Candidate> candidates = new ArrayList<>(current.length + 1);
+        for (int n : current)
+            candidates.add(new Candidate(n, dot(base, vectors.get(n))));
+        candidates.add(new Candidate(neighbour, dot(base, vectors.get(neighbour))));
+        candidates.sort(BEST_FIRST);
+        nodeLinks[level] = selectNeighbours(candidates, max);
+    }
+
+    private static float[] normalize(float[] v) {
+        double sum = 0;
+        for (float x : v)
+            sum += (double) x * x;
+        float[] out = new float[v.length];
+        if (sum == 0)
+            return out;
+        float inv = (float) (1.0 / Math.sqrt(sum));
+        for (int i = 0; i < v.length; i++)
+            out[i] = v[i] * inv;
+        return out;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++)
+            sum += a[i] * b[i];
+        return sum;
+    }
+}
@@ -0,0 +1,43 @@
+package com.careercompass.careercompass.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntFunction;
+
+/**
+ * HnswVectorStore
+ *
+ * In-process RAG index (vector.store.type=hnsw). The knowledge base is a few
+ * thousand snippets, so an HNSW graph in memory answers a query in well under
+ * a millisecond once the query is embedded, with no Pinecone round-trip.
+ */
+@Service
+@ConditionalOnProperty(name = "vector.store.type", havingValue = "hnsw")
+public class HnswVectorStore extends LocalVectorStore {
+
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+
+    public HnswVectorStore(SnippetEmbedder embedder,
+            @Value("${vector.hnsw.m:16}") int m,
+            @Value("${vector.hnsw.ef-construction:200}") int efConstruction,
+            @Value("${vector.hnsw.ef-search:64}") int efSearch) {
+        super(embedder);
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+    }
+
+    @Override
+    protected VectorIndex newIndex(int dimension, IntFunction<float[]> storedVectors) {
+        return new HnswIndex(dimension, m, efConstruction, efSearch);
+    }
+
+    @Override
+    protected String name() {
+        return "HNSW";
+    }
+}
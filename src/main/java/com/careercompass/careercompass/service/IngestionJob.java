@@ -0,0 +1,222 @@
+package com.careercompass.careercompass.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IngestionJob
+ *
+ * One knowledge-base sync run, tracked from submission to completion. It
+ * listens to the IngestionPipeline for progress and is polled by it for
+ * cancellation; status() is what GET /admin/ingest/{jobId} returns.
+ *
+ * Progress that matters for resuming lives in the IngestionManifest (saved at
+ * every checkpoint); the job itself is only persisted as a Snapshot for
+ * reporting.
+ */
+public class IngestionJob implements IngestionPipeline.Listener {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED,
+        // The process stopped while the job was running; the next sync resumes it
+        INTERRUPTED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    /**
+     * Serializable copy of a job's state.
+     */
+    public record Snapshot(String id, boolean full, State state, Instant createdAt, Instant startedAt,
+            Instant finishedAt, int total, int upserted, int failed, int retried, int removed, String error,
+            String resumedFrom) {
+    }
+
+    private final String id;
+    private final boolean full;
+    private final String resumedFrom;
+    private volatile Instant createdAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile boolean interruptRequested;
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger upserted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger retried = new AtomicInteger();
+    private final AtomicInteger removed = new AtomicInteger();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    public IngestionJob(String id, boolean full, String resumedFrom) {
+        this.id = id;
+        this.full = full;
+        this.resumedFrom = resumedFrom;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // --- Pipeline callbacks ---
+
+    @Override
+    public void parsed(int count) {
+        // Full syncs learn their size while parsing; incremental ones set it up front
+        if (full)
+            total.addAndGet(count);
+    }
+
+    @Override
+    public void upserted(List<CsvSnippetLoader.Snippets> snippets) {
+        upserted.addAndGet(snippets.size());
+    }
+
+    @Override
+    public void failed(List<CsvSnippetLoader.Snippets> snippets, String reason) {
+        failed.addAndGet(snippets.size());
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested || interruptRequested;
+    }
+
+    // --- Lifecycle, driven by IngestionJobService / KnowledgeSyncService ---
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void planned(int toIngest, int toRemove) {
+        total.set(toIngest);
+        removed.set(toRemove);
+    }
+
+    /**
+     * Failed snippets are going through the pipeline again.
+     */
+    void retrying(int count) {
+        retried.addAndGet(count);
+        failed.addAndGet(-count);
+    }
+
+    void finish(State finalState, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = finalState;
+    }
+
+    /**
+     * Releases await(); called once the final state has been persisted.
+     */
+    void release() {
+        done.countDown();
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    /**
+     * Stops the job for a shutdown: like cancel(), but it ends INTERRUPTED so
+     * the next start resumes it.
+     */
+    void interrupt() {
+        interruptRequested = true;
+    }
+
+    /**
+     * Final state of a job that stopped early: CANCELLED if someone asked for
+     * it, INTERRUPTED if the process is going down.
+     */
+    State stoppedState() {
+        return cancelRequested ? State.CANCELLED : State.INTERRUPTED;
+    }
+
+    /**
+     * Blocks until the job finishes (and its final state is recorded) or the
+     * timeout passes; true if finished.
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(id, full, state, createdAt, startedAt, finishedAt, total.get(), upserted.get(),
+                failed.get(), retried.get(), removed.get(), error, resumedFrom);
+    }
+
+    static IngestionJob restore(Snapshot snapshot) {
+        IngestionJob job = new IngestionJob(snapshot.id(), snapshot.full(), snapshot.resumedFrom());
+        job.createdAt = snapshot.createdAt();
+        job.startedAt = snapshot.startedAt();
+        job.finishedAt = snapshot.finishedAt();
+        job.error = snapshot.error();
+        job.total.set(snapshot.total());
+        job.upserted.set(snapshot.upserted());
+        job.failed.set(snapshot.failed());
+        job.retried.set(snapshot.retried());
+        job.removed.set(snapshot.removed());
+        job.state = snapshot.state().isFinished() ? snapshot.state() : State.INTERRUPTED;
+        if (job.state.isFinished())
+            job.release();
+        return job;
+    }
+
+    /**
+     * Counts plus throughput (snippets/sec) and, while running, ETA.
+     */
+    public Map<String, Object> status() {
+        Snapshot s = snapshot();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", s.id());
+        status.put("state", s.state());
+        status.put("mode", s.full() ? "full" : "incremental");
+        if (s.resumedFrom() != null)
+            status.put("resumedFrom", s.resumedFrom());
+        status.put("total", s.total());
+        status.put("upserted", s.upserted());
+        status.put("failed", s.failed());
+        status.put("retried", s.retried());
+        status.put("removed", s.removed());
+
+        Instant end = s.finishedAt() != null ? s.finishedAt() : Instant.now();
+        long elapsedMs = s.startedAt() == null ? 0 : Math.max(1, Duration.between(s.startedAt(), end).toMillis());
+        double perSecond = elapsedMs == 0 ? 0.0 : s.upserted() * 1000.0 / elapsedMs;
+        status.put("elapsedMs", elapsedMs);
+        status.put("snippetsPerSecond", Math.round(perSecond * 10) / 10.0);
+
+        if (s.state() == State.RUNNING) {
+            int remaining = Math.max(0, s.total() - s.upserted() - s.failed());
+            status.put("etaSeconds", perSecond > 0 ? Math.round(remaining / perSecond) : null);
+        }
+        status.put("createdAt", s.createdAt());
+        status.put("startedAt", s.startedAt());
+        status.put("finishedAt", s.finishedAt());
+        if (s.error() != null)
+            status.put("error", s.error());
+        return status;
+    }
+}
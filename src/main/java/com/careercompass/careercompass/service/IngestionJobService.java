@@ -0,0 +1,203 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * IngestionJobService
+ *
+ * Runs knowledge-base syncs as tracked IngestionJobs on a single worker
+ * thread (jobs queue behind each other). Each job's snapshot is written to
+ * ingest.jobs.dir when it starts and finishes, so status survives a restart.
+ * A job that was stopped by a shutdown is saved as INTERRUPTED, and one found
+ * still RUNNING (the process died) counts as interrupted too. The next
+ * submitted job resumes it through the manifest checkpoint instead of
+ * starting over.
+ */
+@Service
+public class IngestionJobService {
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobService.class);
+
+    private final KnowledgeSyncService knowledgeSyncService;
+    private final VectorStore vectorStore;
+    private final LexicalSearchService lexicalSearchService;
+    private final CsvSnippetLoader csvSnippetLoader;
+    private final Path jobsDir;
+
+    private final Map<String, IngestionJob> jobs = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ingest-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public IngestionJobService(KnowledgeSyncService knowledgeSyncService, VectorStore vectorStore,
+            LexicalSearchService lexicalSearchService, CsvSnippetLoader csvSnippetLoader,
+            @Value("${ingest.jobs.dir:.embedding-store/ingest-jobs}") String jobsDir) {
+        this.knowledgeSyncService = knowledgeSyncService;
+        this.vectorStore = vectorStore;
+        this.lexicalSearchService = lexicalSearchService;
+        this.csvSnippetLoader = csvSnippetLoader;
+        this.jobsDir = Path.of(jobsDir);
+    }
+
+    @PostConstruct
+    public void loadJobs() {
+        if (!Files.isDirectory(jobsDir))
+            return;
+        try (Stream<Path> files = Files.list(jobsDir)) {
+            files.filter(f -> f.toString().endsWith(".json")).forEach(f -> {
+                try {
+                    IngestionJob job = IngestionJob.restore(mapper.readValue(f.toFile(), IngestionJob.Snapshot.class));
+                    jobs.put(job.getId(), job);
+                } catch (IOException e) {
+                    log.warn("⚠️ Skipping unreadable ingestion job {}: {}", f, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ Could not read ingestion jobs from {}: {}", jobsDir, e.getMessage());
+        }
+        interruptedJob().ifPresent(job -> log.info("⏸️ Ingestion job {} was interrupted; it resumes on next sync",
+                job.getId()));
+    }
+
+    /**
+     * Stops the running job after its current batches and records it, and any
+     * queued job, as INTERRUPTED (not CANCELLED), so a normal restart resumes
+     * the sync instead of leaving the index half loaded.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(IngestionJob::interrupt);
+        worker.shutdownNow();
+        try {
+            // Lets the running job persist its final state
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (IngestionJob job : jobs.values()) {
+            if (job.getState().isFinished())
+                continue;
+            job.finish(IngestionJob.State.INTERRUPTED, "Stopped by shutdown");
+            persist(job);
+            job.release();
+        }
+    }
+
+    /**
+     * Queues a sync: full when the vector store is empty, otherwise
+     * incremental (which also resumes an interrupted job).
+     */
+    public IngestionJob submit() {
+        Optional<IngestionJob> interrupted = interruptedJob();
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString().substring(0, 8), vectorStore.isIndexEmpty(),
+                interrupted.map(IngestionJob::getId).orElse(null));
+        // The manifest checkpoint covers every interrupted job, not just the latest
+        jobs.values().stream()
+                .filter(j -> j.getState() == IngestionJob.State.INTERRUPTED)
+                .forEach(previous -> {
+                    previous.finish(IngestionJob.State.FAILED, "Interrupted; resumed by job " + job.getId());
+                    persist(previous);
+                    previous.release();
+                });
+        jobs.put(job.getId(), job);
+        persist(job);
+        worker.submit(() -> run(job));
+        log.info("📥 Ingestion job {} queued ({})", job.getId(), job.isFull() ? "full" : "incremental");
+        return job;
+    }
+
+    public Optional<IngestionJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public List<IngestionJob> list() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((IngestionJob j) -> j.snapshot().createdAt()).reversed())
+                .toList();
+    }
+
+    /**
+     * Asks a queued or running job to stop after its current batches; false if
+     * unknown or already finished.
+     */
+    public boolean cancel(String jobId) {
+        IngestionJob job = jobs.get(jobId);
+        if (job == null || job.getState().isFinished())
+            return false;
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * The most recent INTERRUPTED job, if any.
+     */
+    public Optional<IngestionJob> interruptedJob() {
+        return jobs.values().stream()
+                .filter(j -> j.getState() == IngestionJob.State.INTERRUPTED)
+                .max(Comparator.comparing(j -> j.snapshot().createdAt()));
+    }
+
+    private void run(IngestionJob job) {
+        if (job.isCancelled()) {
+            job.finish(job.stoppedState(), null);
+            persist(job);
+            job.release();
+            return;
+        }
+        job.start();
+        persist(job);
+        try {
+            knowledgeSyncService.sync(job.isFull(), job);
+            lexicalSearchService.rebuild(csvSnippetLoader.loadKnowledgeBase());
+            job.finish(job.isCancelled() ? job.stoppedState() : IngestionJob.State.SUCCEEDED, null);
+        } catch (InterruptedException e) {
+            // Only shutdownNow() interrupts the worker
+            Thread.currentThread().interrupt();
+            job.finish(job.stoppedState(), "Interrupted");
+        } catch (Exception e) {
+            log.error("❌ Ingestion job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.finish(IngestionJob.State.FAILED, e.getMessage());
+        }
+        persist(job);
+        job.release();
+        log.info("🏁 Ingestion job {} {}: {}", job.getId(), job.getState(), job.status());
+    }
+
+    private void persist(IngestionJob job) {
+        try {
+            Files.createDirectories(jobsDir);
+            Path file = jobsDir.resolve(job.getId() + ".json");
+            Path tmp = jobsDir.resolve(job.getId() + ".json.tmp");
+            mapper.writeValue(tmp.toFile(), job.snapshot());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not persist ingestion job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.careercompass.careercompass.service;
+
+import com.google.common.hash.Hashing;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IngestionManifest
+ *
+ * What the vector store currently holds: snippet id -> content hash and the
+ * embedding model its vector came from, persisted as a small CSV (id, hash,
+ * model). Diffing the parsed knowledge base against it yields the snippets to
+ * (re-)embed and the ids to delete.
+ *
+ * The hash covers everything that is embedded or upserted as metadata (topic,
+ * category, keywords, advice), so a metadata-only edit is re-upserted too.
+ */
+public final class IngestionManifest {
+    private static final Logger log = LoggerFactory.getLogger(IngestionManifest.class);
+
+    public record Entry(String hash, String model) {
+    }
+
+    /**
+     * New snippets, snippets whose content or model changed, the unchanged
+     * count, and ids no longer present in the knowledge base.
+     */
+    public record Diff(List<CsvSnippetLoader.Snippets> added, List<CsvSnippetLoader.Snippets> changed,
+            int unchanged, Set<String> removed) {
+
+        public List<CsvSnippetLoader.Snippets> toIngest() {
+            List<CsvSnippetLoader.Snippets> all = new ArrayList<>(added.size() + changed.size());
+            all.addAll(added);
+            all.addAll(changed);
+            return all;
+        }
+    }
+
+    private static final String[] HEADER = { "id", "hash", "model" };
+
+    private final Path path;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private IngestionManifest(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Reads the manifest at {@code path}; missing or unreadable files give an
+     * empty manifest (everything counts as new).
+     */
+    public static IngestionManifest load(Path path) {
+        IngestionManifest manifest = new IngestionManifest(path);
+        if (!Files.exists(path))
+            return manifest;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+                CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader)) {
+            for (CSVRecord record : parser) {
+                manifest.entries.put(record.get("id"), new Entry(record.get("hash"), record.get("model")));
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Ignoring unreadable ingestion manifest {}: {}", path, e.getMessage());
+            manifest.entries.clear();
+        }
+        return manifest;
+    }
+
+    public static String hash(CsvSnippetLoader.Snippets snippet) {
+        String content = String.join("\u001f",
+                String.valueOf(snippet.getTopic()),
+                String.valueOf(snippet.getCategory()),
+                snippet.getKeywords() == null ? "" : String.join(",", snippet.getKeywords()),
+                String.valueOf(snippet.getAdviceText()));
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+    }
+
+    public Diff diff(List<CsvSnippetLoader.Snippets> snippets, String model) {
+        // Last occurrence of a duplicated id wins, as it does in the vector store
+        Map<String, CsvSnippetLoader.Snippets> current = new LinkedHashMap<>();
+        for (CsvSnippetLoader.Snippets snippet : snippets)
+            current.put(snippet.getId(), snippet);
+
+        List<CsvSnippetLoader.Snippets> added = new ArrayList<>();
+        List<CsvSnippetLoader.Snippets> changed = new ArrayList<>();
+        int unchanged = 0;
+        for (CsvSnippetLoader.Snippets snippet : current.values()) {
+            Entry entry = entries.get(snippet.getId());
+            if (entry == null) {
+                added.add(snippet);
+            } else if (!entry.hash().equals(hash(snippet)) || !entry.model().equals(model)) {
+                changed.add(snippet);
+            } else {
+                unchanged++;
+            }
+        }
+
+        Set<String> removed = new HashSet<>(entries.keySet());
+        removed.removeAll(current.keySet());
+        return new Diff(added, changed, unchanged, removed);
+    }
+
+    public void record(Collection<CsvSnippetLoader.Snippets> snippets, String model) {
+        for (CsvSnippetLoader.Snippets snippet : snippets)
+            entries.put(snippet.getId(), new Entry(hash(snippet), model));
+    }
+
+    public void remove(Collection<String> ids) {
+        ids.forEach(entries::remove);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes to a temp file and renames it over the manifest, so a crash never
+     * leaves a half-written file.
+     */
+    public synchronized void save() throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8);
+                CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(HEADER))) {
+            for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+                printer.printRecord(e.getKey(), e.getValue().hash(), e.getValue().model());
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,333 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IngestionPipeline
+ *
+ * Loads knowledge-base CSVs into the active VectorStore in three concurrent
+ * stages connected by bounded queues:
+ *
+ * parse (one task per file) -> embed (SnippetEmbedder, batches of up to
+ * embedBatchSize) -> upsert (VectorStore.upsertEmbedded, batches of up to
+ * upsertBatchSize)
+ *
+ * A full queue blocks the stage feeding it, so memory stays bounded however
+ * large the files are. Embedding and upsert calls each draw from a token
+ * bucket instead of sleeping between batches; embed batches whose vectors are
+ * all in the local snippet store do not touch Gemini and are not rate
+ * limited. A failed batch is counted, reported to the Listener and skipped.
+ */
+@Service
+public class IngestionPipeline {
+    private static final Logger log = LoggerFactory.getLogger(IngestionPipeline.class);
+
+    /**
+     * Stage parallelism, batch sizes, queue depth and rate limits (requests per
+     * second, 0 = unlimited).
+     */
+    public record Settings(int parseParallelism, int embedParallelism, int upsertParallelism,
+            int embedBatchSize, int upsertBatchSize, int queueCapacity,
+            double embedRequestsPerSecond, double upsertRequestsPerSecond) {
+
+        public Settings {
+            parseParallelism = Math.max(1, parseParallelism);
+            embedParallelism = Math.max(1, embedParallelism);
+            upsertParallelism = Math.max(1, upsertParallelism);
+            embedBatchSize = Math.max(1, embedBatchSize);
+            upsertBatchSize = Math.max(1, upsertBatchSize);
+            queueCapacity = Math.max(1, queueCapacity);
+        }
+    }
+
+    /**
+     * Outcome of one run; snippetsPerSecond counts upserted snippets over the
+     * whole wall-clock time.
+     */
+    public record Report(int sources, int parsed, int embedded, int upserted, int embedFailures,
+            int upsertFailures, long elapsedMs, double snippetsPerSecond) {
+    }
+
+    /**
+     * Per-batch callbacks, invoked from the upsert and embed worker threads.
+     */
+    public interface Listener {
+        Listener NONE = new Listener() {
+        };
+
+        /**
+         * A source was parsed into {@code count} snippets.
+         */
+        default void parsed(int count) {
+        }
+
+        /**
+         * These snippets are now in the vector store.
+         */
+        default void upserted(List<CsvSnippetLoader.Snippets> snippets) {
+        }
+
+        /**
+         * These snippets could not be embedded or upserted.
+         */
+        default void failed(List<CsvSnippetLoader.Snippets> snippets, String reason) {
+        }
+
+        /**
+         * Polled between batches; once true, remaining batches are dropped
+         * without being embedded or upserted.
+         */
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        List<CsvSnippetLoader.Snippets> load() throws Exception;
+    }
+
+    // Marks the end of a queue for one worker
+    private static final Batch POISON = new Batch(List.of(), Map.of());
+
+    private record Batch(List<CsvSnippetLoader.Snippets> snippets, Map<String, Embedding> vectors) {
+    }
+
+    private final CsvSnippetLoader csvSnippetLoader;
+    private final SnippetEmbedder embedder;
+    private final VectorStore vectorStore;
+    private final Settings settings;
+
+    @Autowired
+    public IngestionPipeline(CsvSnippetLoader csvSnippetLoader, SnippetEmbedder embedder, VectorStore vectorStore,
+            @Value("${ingest.parse.parallelism:2}") int parseParallelism,
+            @Value("${ingest.embed.parallelism:2}") int embedParallelism,
+            @Value("${ingest.upsert.parallelism:4}") int upsertParallelism,
+            @Value("${ingest.embed.batch-size:100}") int embedBatchSize,
+            @Value("${ingest.upsert.batch-size:50}") int upsertBatchSize,
+            @Value("${ingest.queue.capacity:8}") int queueCapacity,
+            @Value("${ingest.embed.requests-per-second:5}") double embedRequestsPerSecond,
+            @Value("${ingest.upsert.requests-per-second:10}") double upsertRequestsPerSecond) {
+        this(csvSnippetLoader, embedder, vectorStore, new Settings(parseParallelism, embedParallelism,
+                upsertParallelism, embedBatchSize, upsertBatchSize, queueCapacity, embedRequestsPerSecond,
+                upsertRequestsPerSecond));
+    }
+
+    IngestionPipeline(CsvSnippetLoader csvSnippetLoader, SnippetEmbedder embedder, VectorStore vectorStore,
+            Settings settings) {
+        this.csvSnippetLoader = csvSnippetLoader;
+        this.embedder = embedder;
+        this.vectorStore = vectorStore;
+        this.settings = settings;
+    }
+
+    public Report ingest(List<String> files) throws InterruptedException {
+        return ingest(files, Listener.NONE);
+    }
+
+    /**
+     * Parses {@code files} concurrently and ingests every snippet in them.
+     */
+    public Report ingest(List<String> files, Listener listener) throws InterruptedException {
+        Map<String, Source> sources = new LinkedHashMap<>();
+        for (String file : files)
+            sources.put(file, () -> csvSnippetLoader.loadFromCsv(file, false));
+        return run(sources, listener);
+    }
+
+    /**
+     * Ingests already-parsed snippets (e.g. only the changed ones); the parse
+     * stage just feeds them to the embedders.
+     */
+    public Report ingestSnippets(List<CsvSnippetLoader.Snippets> snippets, Listener listener)
+            throws InterruptedException {
+        return run(Map.of(snippets.size() + " snippets", () -> snippets), listener);
+    }
+
+    private Report run(Map<String, Source> sources, Listener listener) throws InterruptedException {
+        long start = System.nanoTime();
+        log.info("🚚 Ingesting {} (parse x{}, embed x{}, upsert x{})", sources.keySet(),
+                settings.parseParallelism(), settings.embedParallelism(), settings.upsertParallelism());
+
+        BlockingQueue<Batch> toEmbed = new ArrayBlockingQueue<>(settings.queueCapacity());
+        BlockingQueue<Batch> toUpsert = new ArrayBlockingQueue<>(settings.queueCapacity());
+        TokenBucket embedLimit = new TokenBucket(settings.embedRequestsPerSecond(), settings.embedParallelism());
+        TokenBucket upsertLimit = new TokenBucket(settings.upsertRequestsPerSecond(), settings.upsertParallelism());
+
+        AtomicInteger parsed = new AtomicInteger();
+        AtomicInteger embedded = new AtomicInteger();
+        AtomicInteger upserted = new AtomicInteger();
+        AtomicInteger embedFailures = new AtomicInteger();
+        AtomicInteger upsertFailures = new AtomicInteger();
+        AtomicLong embedNanos = new AtomicLong();
+        AtomicLong upsertNanos = new AtomicLong();
+
+        ExecutorService parsers = pool("ingest-parse", settings.parseParallelism());
+        ExecutorService embedders = pool("ingest-embed", settings.embedParallelism());
+        ExecutorService upserters = pool("ingest-upsert", settings.upsertParallelism());
+        try {
+            // Stage 1: parse
+            for (Map.Entry<String, Source> source : sources.entrySet()) {
+                parsers.submit(() -> {
+                    try {
+                        List<CsvSnippetLoader.Snippets> snippets = source.getValue().load();
+                        parsed.addAndGet(snippets.size());
+                        listener.parsed(snippets.size());
+                        for (List<CsvSnippetLoader.Snippets> chunk : chunks(snippets, settings.embedBatchSize())) {
+                            if (listener.isCancelled())
+                                break;
+                            toEmbed.put(new Batch(chunk, Map.of()));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        log.error("✗ Failed to parse {}: {}", source.getKey(), e.getMessage());
+                    }
+                    return null;
+                });
+            }
+
+            // Stage 2: embed
+            for (int i = 0; i < settings.embedParallelism(); i++) {
+                embedders.submit(() -> {
+                    while (true) {
+                        Batch batch = toEmbed.take();
+                        if (batch == POISON)
+                            break;
+                        if (listener.isCancelled())
+                            continue;
+                        try {
+                            if (needsRemoteEmbedding(batch.snippets()))
+                                embedLimit.acquire();
+                            long t = System.nanoTime();
+                            Map<String, Embedding> vectors = embedder.embed(batch.snippets());
+                            embedNanos.addAndGet(System.nanoTime() - t);
+                            embedded.addAndGet(vectors.size());
+                            List<CsvSnippetLoader.Snippets> missing = batch.snippets().stream()
+                                    .filter(sn -> !vectors.containsKey(sn.getId()))
+                                    .toList();
+                            if (!missing.isEmpty()) {
+                                embedFailures.addAndGet(missing.size());
+                                listener.failed(missing, "no embedding");
+                            }
+                            for (List<CsvSnippetLoader.Snippets> chunk : chunks(batch.snippets(),
+                                    settings.upsertBatchSize())) {
+                                toUpsert.put(new Batch(chunk, vectors));
+                            }
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            embedFailures.addAndGet(batch.snippets().size());
+                            listener.failed(batch.snippets(), e.getMessage());
+                            log.error("✗ Embedding batch of {} failed: {}", batch.snippets().size(), e.getMessage());
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            // Stage 3: upsert
+            for (int i = 0; i < settings.upsertParallelism(); i++) {
+                upserters.submit(() -> {
+                    while (true) {
+                        Batch batch = toUpsert.take();
+                        if (batch == POISON)
+                            break;
+                        if (listener.isCancelled())
+                            continue;
+                        List<CsvSnippetLoader.Snippets> withVector = batch.snippets().stream()
+                                .filter(sn -> batch.vectors().containsKey(sn.getId()))
+                                .toList();
+                        if (withVector.isEmpty())
+                            continue;
+                        try {
+                            upsertLimit.acquire();
+                            long t = System.nanoTime();
+                            vectorStore.upsertEmbedded(withVector, batch.vectors());
+                            upsertNanos.addAndGet(System.nanoTime() - t);
+                            upserted.addAndGet(withVector.size());
+                            listener.upserted(withVector);
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            upsertFailures.addAndGet(withVector.size());
+                            listener.failed(withVector, e.getMessage());
+                            log.error("✗ Upsert batch of {} failed: {}", withVector.size(), e.getMessage());
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            // Drain stage by stage: each worker stops at its own poison pill
+            drain(parsers);
+            for (int i = 0; i < settings.embedParallelism(); i++)
+                toEmbed.put(POISON);
+            drain(embedders);
+            for (int i = 0; i < settings.upsertParallelism(); i++)
+                toUpsert.put(POISON);
+            drain(upserters);
+        } finally {
+            parsers.shutdownNow();
+            embedders.shutdownNow();
+            upserters.shutdownNow();
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        Report report = new Report(sources.size(), parsed.get(), embedded.get(), upserted.get(), embedFailures.get(),
+                upsertFailures.get(), elapsedMs, upserted.get() * 1000.0 / elapsedMs);
+        log.info("✅ Ingestion done: {} parsed, {} embedded, {} upserted in {} ms ({} snippets/sec); "
+                + "embed {} ms, upsert {} ms busy; failures: {} embed, {} upsert",
+                report.parsed(), report.embedded(), report.upserted(), report.elapsedMs(),
+                String.format("%.1f", report.snippetsPerSecond()), TimeUnit.NANOSECONDS.toMillis(embedNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(upsertNanos.get()), report.embedFailures(), report.upsertFailures());
+        return report;
+    }
+
+    private boolean needsRemoteEmbedding(List<CsvSnippetLoader.Snippets> snippets) {
+        for (CsvSnippetLoader.Snippets snippet : snippets) {
+            if (embedder.stored(snippet) == null)
+                return true;
+        }
+        return false;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size)
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        return chunks;
+    }
+
+    private static void drain(ExecutorService pool) throws InterruptedException {
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.info("⏳ Waiting for ingestion stage to finish...");
+        }
+    }
+
+    private static ExecutorService pool(String name, int threads) {
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
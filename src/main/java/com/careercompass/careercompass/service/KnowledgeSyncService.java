@@ -0,0 +1,185 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KnowledgeSyncService
+ *
+ * Brings the vector store in line with the knowledge-base CSVs using an
+ * IngestionManifest: only new or edited snippets (or ones embedded with a
+ * different model) go through the IngestionPipeline, and snippets removed
+ * from the CSVs are deleted. Editing one row costs one embedding and one
+ * upsert instead of a full re-ingest.
+ *
+ * The manifest only records snippets that were actually upserted and is saved
+ * every few batches, so it doubles as the checkpoint: after a crash or a
+ * cancel the next sync skips everything already done. Failed snippets are
+ * retried with backoff before the sync gives up on them.
+ */
+@Service
+public class KnowledgeSyncService {
+    private static final Logger log = LoggerFactory.getLogger(KnowledgeSyncService.class);
+
+    public record SyncReport(boolean full, int total, int added, int changed, int unchanged, int removed,
+            IngestionPipeline.Report ingest) {
+    }
+
+    private final CsvSnippetLoader csvSnippetLoader;
+    private final IngestionPipeline ingestionPipeline;
+    private final VectorStore vectorStore;
+    private final Path manifestPath;
+    private final String model;
+
+    // Failed snippets go through the pipeline again up to this many times, with
+    // exponential backoff starting at retryBackoffMs
+    @Value("${ingest.retry.max-attempts:3}")
+    private int maxRetries = 3;
+
+    @Value("${ingest.retry.backoff-ms:1000}")
+    private long retryBackoffMs = 1000;
+
+    // The manifest is saved after this many upserted batches, so a crash loses
+    // at most that much work
+    @Value("${ingest.checkpoint.batches:10}")
+    private int checkpointBatches = 10;
+
+    public KnowledgeSyncService(CsvSnippetLoader csvSnippetLoader, IngestionPipeline ingestionPipeline,
+            VectorStore vectorStore,
+            @Value("${ingest.manifest.path:.embedding-store/ingest-manifest.csv}") String manifestPath,
+            @Value("${gemini.embedding.model:text-embedding-004}") String model) {
+        this.csvSnippetLoader = csvSnippetLoader;
+        this.ingestionPipeline = ingestionPipeline;
+        this.vectorStore = vectorStore;
+        this.manifestPath = Path.of(manifestPath);
+        this.model = model;
+    }
+
+    public SyncReport sync(boolean full) throws InterruptedException {
+        return sync(full, new IngestionJob("sync", full, null));
+    }
+
+    /**
+     * @param full ingest everything and rebuild the manifest (use when the store
+     *             is empty); otherwise ingest only the diff
+     * @param job  receives progress and is polled for cancellation
+     */
+    public synchronized SyncReport sync(boolean full, IngestionJob job) throws InterruptedException {
+        IngestionManifest manifest = IngestionManifest.load(manifestPath);
+        Checkpointer checkpointer = new Checkpointer(manifest, job);
+
+        SyncReport report;
+        IngestionPipeline.Report ingest;
+        if (full) {
+            manifest.clear();
+            checkpointer.save();
+            ingest = ingestionPipeline.ingest(CsvSnippetLoader.KNOWLEDGE_FILES, checkpointer);
+            ingest = retryFailures(checkpointer, job, ingest);
+            report = new SyncReport(true, ingest.parsed(), ingest.parsed(), 0, 0, 0, ingest);
+        } else {
+            List<CsvSnippetLoader.Snippets> snippets = csvSnippetLoader.loadKnowledgeBase();
+            IngestionManifest.Diff diff = manifest.diff(snippets, model);
+            log.info("🧾 Knowledge diff: {} new, {} changed, {} unchanged, {} removed", diff.added().size(),
+                    diff.changed().size(), diff.unchanged(), diff.removed().size());
+            job.planned(diff.toIngest().size(), diff.removed().size());
+
+            if (!diff.removed().isEmpty()) {
+                vectorStore.deleteSnippets(diff.removed());
+                manifest.remove(diff.removed());
+            }
+            ingest = null;
+            if (!diff.toIngest().isEmpty()) {
+                ingest = ingestionPipeline.ingestSnippets(diff.toIngest(), checkpointer);
+                ingest = retryFailures(checkpointer, job, ingest);
+            }
+            report = new SyncReport(false, snippets.size(), diff.added().size(), diff.changed().size(),
+                    diff.unchanged(), diff.removed().size(), ingest);
+        }
+
+        checkpointer.save();
+        log.info("✅ Knowledge sync {}: {}", job.isCancelled() ? "cancelled" : "complete", report);
+        return report;
+    }
+
+    private IngestionPipeline.Report retryFailures(Checkpointer checkpointer, IngestionJob job,
+            IngestionPipeline.Report report) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxRetries && !job.isCancelled(); attempt++) {
+            List<CsvSnippetLoader.Snippets> failed = checkpointer.drainFailed();
+            if (failed.isEmpty())
+                break;
+            long backoff = retryBackoffMs << (attempt - 1);
+            log.warn("🔁 Retrying {} failed snippets in {} ms (attempt {}/{})", failed.size(), backoff, attempt,
+                    maxRetries);
+            Thread.sleep(backoff);
+            job.retrying(failed.size());
+            report = ingestionPipeline.ingestSnippets(failed, checkpointer);
+        }
+        return report;
+    }
+
+    /**
+     * Records upserted snippets in the manifest (saving it every
+     * checkpointBatches batches), collects failures for retry and forwards
+     * everything to the job.
+     */
+    private final class Checkpointer implements IngestionPipeline.Listener {
+        private final IngestionManifest manifest;
+        private final IngestionJob job;
+        private final Map<String, CsvSnippetLoader.Snippets> failed = new ConcurrentHashMap<>();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        Checkpointer(IngestionManifest manifest, IngestionJob job) {
+            this.manifest = manifest;
+            this.job = job;
+        }
+
+        @Override
+        public void parsed(int count) {
+            job.parsed(count);
+        }
+
+        @Override
+        public void upserted(List<CsvSnippetLoader.Snippets> snippets) {
+            manifest.record(snippets, model);
+            snippets.forEach(s -> failed.remove(s.getId()));
+            job.upserted(snippets);
+            if (batches.incrementAndGet() % Math.max(1, checkpointBatches) == 0)
+                save();
+        }
+
+        @Override
+        public void failed(List<CsvSnippetLoader.Snippets> snippets, String reason) {
+            snippets.forEach(s -> failed.put(s.getId(), s));
+            job.failed(snippets, reason);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return job.isCancelled();
+        }
+
+        List<CsvSnippetLoader.Snippets> drainFailed() {
+            List<CsvSnippetLoader.Snippets> pending = new ArrayList<>(failed.values());
+            pending.forEach(s -> failed.remove(s.getId()));
+            return pending;
+        }
+
+        synchronized void save() {
+            try {
+                manifest.save();
+            } catch (IOException e) {
+                log.warn("⚠️ Could not save ingestion manifest {}: {}", manifestPath, e.getMessage());
+            }
+        }
+    }
+}
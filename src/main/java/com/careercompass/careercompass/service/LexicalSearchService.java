@@ -0,0 +1,78 @@
+package com.careercompass.careercompass.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LexicalSearchService
+ *
+ * BM25 search over the knowledge base, built in memory from the same CSVs the
+ * vector store is loaded from. Needs no embedding call, so RAGService uses it
+ * both to fuse with vector hits and to answer exact-term queries on its own.
+ */
+@Service
+public class LexicalSearchService {
+    private static final Logger log = LoggerFactory.getLogger(LexicalSearchService.class);
+
+    /**
+     * Hits, the query-term coverage of the best one, and how many distinct terms
+     * the query had after stopwords were dropped.
+     */
+    public record Result(List<VectorStore.ScoredSnippet> hits, double topCoverage, int queryTerms) {
+        public static final Result EMPTY = new Result(List.of(), 0.0, 0);
+    }
+
+    private final CsvSnippetLoader csvSnippetLoader;
+
+    private volatile Bm25Index index = new Bm25Index(List.of());
+    private volatile List<CsvSnippetLoader.Snippets> docs = List.of();
+
+    public LexicalSearchService(CsvSnippetLoader csvSnippetLoader) {
+        this.csvSnippetLoader = csvSnippetLoader;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild(csvSnippetLoader.loadKnowledgeBase());
+    }
+
+    public void rebuild(List<CsvSnippetLoader.Snippets> snippets) {
+        long start = System.nanoTime();
+        List<CsvSnippetLoader.Snippets> copy = List.copyOf(snippets);
+        Bm25Index fresh = new Bm25Index(copy);
+        synchronized (this) {
+            docs = copy;
+            index = fresh;
+        }
+        log.info("📚 BM25 index built: {} snippets, {} terms in {} ms", fresh.size(), fresh.vocabularySize(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Result search(String query, int topK, VectorStore.SearchFilter filter) {
+        if (query == null || query.isBlank())
+            return Result.EMPTY;
+
+        Bm25Index current;
+        List<CsvSnippetLoader.Snippets> currentDocs;
+        synchronized (this) {
+            current = index;
+            currentDocs = docs;
+        }
+
+        List<Bm25Index.Hit> hits = current.search(query, topK, doc -> filter.matches(currentDocs.get(doc)));
+        if (hits.isEmpty())
+            return Result.EMPTY;
+
+        List<VectorStore.ScoredSnippet> snippets = new ArrayList<>(hits.size());
+        for (Bm25Index.Hit hit : hits) {
+            snippets.add(new VectorStore.ScoredSnippet(currentDocs.get(hit.doc()), hit.score()));
+        }
+        int terms = (int) Bm25Index.tokenize(query).stream().distinct().count();
+        return new Result(snippets, hits.get(0).coverage(), terms);
+    }
+}
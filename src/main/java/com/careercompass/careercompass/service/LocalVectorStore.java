@@ -0,0 +1,200 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * LocalVectorStore
+ *
+ * Shared plumbing for the in-process backends: embeds snippets through
+ * SnippetEmbedder, maps snippet ids to index ids, applies SearchFilter during
+ * the index walk. Subclasses only choose the VectorIndex.
+ *
+ * The index lives only in memory and is rebuilt by DataInitializer on every
+ * start; snippet vectors come from SnippetEmbedder's local store, so only new
+ * or edited snippets hit Gemini.
+ */
+public abstract class LocalVectorStore implements VectorStore {
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final SnippetEmbedder embedder;
+
+    private volatile Segment segment;
+
+    /**
+     * The index plus its id <-> snippet mapping. Created by the first upsert,
+     * once the vector dimension is known, and updated in place after that;
+     * upserts and deletes are serialized, searches read it concurrently.
+     */
+    private static final class Segment {
+        VectorIndex index; // set once, before the segment is published
+        final Map<String, Integer> idToNode = new ConcurrentHashMap<>();
+        final Map<Integer, CsvSnippetLoader.Snippets> nodeToSnippet = new ConcurrentHashMap<>();
+    }
+
+    protected LocalVectorStore(SnippetEmbedder embedder) {
+        this.embedder = embedder;
+    }
+
+    /**
+     * Empty index for vectors of the given dimension.
+     *
+     * @param storedVectors index id -> float vector from SnippetEmbedder's local
+     *                      store (null if absent), for indexes that keep only a
+     *                      compressed copy in memory
+     */
+    protected abstract VectorIndex newIndex(int dimension, IntFunction<float[]> storedVectors);
+
+    /**
+     * Backend name for logs ("HNSW", "flat").
+     */
+    protected abstract String name();
+
+    @Override
+    public void upsertSnippetsBatch(List<CsvSnippetLoader.Snippets> snippets) {
+        if (snippets.isEmpty())
+            return;
+        upsertEmbedded(snippets, embedder.embed(snippets));
+    }
+
+    @Override
+    public synchronized void upsertEmbedded(List<CsvSnippetLoader.Snippets> snippets,
+            Map<String, Embedding> vectors) {
+        if (vectors.isEmpty())
+            return;
+        if (segment == null) {
+            segment = newSegment(vectors.values().iterator().next().dimension());
+        }
+        insert(segment, snippets, vectors);
+    }
+
+    @Override
+    public synchronized void deleteSnippets(Collection<String> ids) {
+        Segment current = segment;
+        if (current == null)
+            return;
+        for (String id : ids) {
+            Integer node = current.idToNode.remove(id);
+            if (node != null) {
+                current.index.delete(node);
+                current.nodeToSnippet.remove(node);
+            }
+        }
+    }
+
+    private Segment newSegment(int dimension) {
+        Segment fresh = new Segment();
+        fresh.index = newIndex(dimension, node -> {
+            CsvSnippetLoader.Snippets snippet = fresh.nodeToSnippet.get(node);
+            Embedding stored = snippet != null ? embedder.stored(snippet) : null;
+            return stored != null ? stored.values() : null;
+        });
+        return fresh;
+    }
+
+    private void insert(Segment target, List<CsvSnippetLoader.Snippets> snippets, Map<String, Embedding> vectors) {
+        for (CsvSnippetLoader.Snippets snippet : snippets) {
+            Embedding e = vectors.get(snippet.getId());
+            if (e == null || e.dimension() != target.index.dimension())
+                continue;
+
+            Integer previous = target.idToNode.get(snippet.getId());
+            if (previous != null) {
+                target.index.delete(previous);
+                target.nodeToSnippet.remove(previous);
+            }
+            int node = target.index.add(e.values());
+            target.nodeToSnippet.put(node, snippet);
+            target.idToNode.put(snippet.getId(), node);
+        }
+    }
+
+    @Override
+    public List<ScoredSnippet> semanticSearch(String query, int topK, SearchFilter filter) {
+        Segment current = segment;
+        if (current == null || topK <= 0)
+            return new ArrayList<>();
+
+        Embedding queryEmbedding = embedder.embedQuery(query);
+        if (queryEmbedding == null || queryEmbedding.isEmpty()) {
+            log.warn("⚠️ Skipping {} query due to empty embedding.", name());
+            return new ArrayList<>();
+        }
+
+        return toSnippets(current, current.index.search(queryEmbedding.values(), topK, accept(current, filter)),
+                filter);
+    }
+
+    /**
+     * Embeds all queries in one batch request and answers them with a single
+     * VectorIndex.searchBatch call.
+     */
+    @Override
+    public List<List<ScoredSnippet>> semanticSearchBatch(List<String> queries, int topK, SearchFilter filter) {
+        List<List<ScoredSnippet>> results = new ArrayList<>(queries.size());
+        Segment current = segment;
+        if (current == null || topK <= 0 || queries.isEmpty()) {
+            queries.forEach(q -> results.add(new ArrayList<>()));
+            return results;
+        }
+
+        List<Embedding> embeddings = embedder.embedQueries(queries);
+        float[][] vectors = new float[queries.size()][];
+        for (int i = 0; i < vectors.length; i++) {
+            Embedding e = embeddings.get(i);
+            vectors[i] = e != null ? e.values() : null;
+        }
+
+        List<List<VectorIndex.Hit>> hits = current.index.searchBatch(vectors, topK, accept(current, filter));
+        for (int i = 0; i < vectors.length; i++) {
+            results.add(vectors[i] == null ? new ArrayList<>() : toSnippets(current, hits.get(i), filter));
+        }
+        return results;
+    }
+
+    private static IntPredicate accept(Segment current, SearchFilter filter) {
+        return filter.hasMetadataFilter()
+                ? node -> {
+                    CsvSnippetLoader.Snippets snippet = current.nodeToSnippet.get(node);
+                    return snippet != null && filter.matches(snippet);
+                }
+                : node -> true;
+    }
+
+    private static List<ScoredSnippet> toSnippets(Segment current, List<VectorIndex.Hit> hits, SearchFilter filter) {
+        List<ScoredSnippet> results = new ArrayList<>(hits.size());
+        for (VectorIndex.Hit hit : hits) {
+            if (hit.score() < filter.minScore())
+                break;
+            CsvSnippetLoader.Snippets snippet = current.nodeToSnippet.get(hit.id());
+            if (snippet != null)
+                results.add(new ScoredSnippet(snippet, hit.score()));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean isIndexEmpty() {
+        Segment current = segment;
+        return current == null || current.index.size() == 0;
+    }
+
+    @Override
+    public void logIndexStats() {
+        Segment current = segment;
+        if (current == null) {
+            log.info("📊 {} index: empty", name());
+        } else {
+            log.info("📊 {} index: {} vectors, dimension {}, {} KB", name(), current.index.size(),
+                    current.index.dimension(), current.index.memoryBytes() / 1024);
+        }
+    }
+}
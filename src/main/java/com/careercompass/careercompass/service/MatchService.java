@@ -18,15 +18,19 @@ public class MatchService {
     private final SkillAnalysisService skillService;
     private final CsvDataService dataService;
     private final EmbeddingService embeddingService;
+    private final SkillSimilarityIndex similarityIndex;
+    private final NoiseFilter noiseFilter;
 
-    // 🧠 INDUSTRY SEMANTIC BRIDGE: Handled dynamically via
-    // Pinecone/EmbeddingService
+    // 🧠 INDUSTRY SEMANTIC BRIDGE: Precomputed for taxonomy skills via
+    // SkillSimilarityIndex, falls back to EmbeddingService vectors otherwise
 
     public MatchService(SkillAnalysisService skillService, CsvDataService dataService,
-            EmbeddingService embeddingService) {
+            EmbeddingService embeddingService, SkillSimilarityIndex similarityIndex, NoiseFilter noiseFilter) {
         this.skillService = skillService;
         this.dataService = dataService;
         this.embeddingService = embeddingService;
+        this.similarityIndex = similarityIndex;
+        this.noiseFilter = noiseFilter;
     }
 
     // ============================================
@@ -43,7 +47,7 @@ public class MatchService {
             AnalysisResponse fullRes,
             String jdText,
             String resumeText,
-            Map<String, List<Float>> embeddingContext) {
+            Map<String, Embedding> embeddingContext) {
 
         log.info("📊 Calculating ATS-Style Weighted Scoring (REVISED)...");
 
@@ -60,8 +64,8 @@ public class MatchService {
         double educationScore = calculateEducationScore(fullRes.getEducationRequirement(), resumeText);
 
         // Pillar 4: Semantic Context Fit (10%)
-        List<Float> jdEmb = embeddingContext.get(jdText);
-        List<Float> resEmb = embeddingContext.get(resumeText);
+        Embedding jdEmb = embeddingContext.get(jdText);
+        Embedding resEmb = embeddingContext.get(resumeText);
         double semanticScore = (jdEmb == null || resEmb == null) ? 50.0
                 : embeddingService.calculateCosineSimilarity(jdEmb, resEmb) * 100.0;
 
@@ -130,46 +134,8 @@ public class MatchService {
                     String category = dataService.getSkillCategory(s);
                     boolean isSoft = category != null && category.toLowerCase().contains("soft");
 
-                    // 2. Filter out Broad Roles/Domains & UI Noise (Comprehensive Sync)
-                    String lower = s.toLowerCase();
-                    boolean isBroadRoleOrNoise = lower.contains("backend development") ||
-                            lower.contains("backend developer") ||
-                            lower.contains("frontend development") ||
-                            lower.contains("frontend developer") ||
-                            lower.contains("software engineer") ||
-                            lower.contains("software engineering") ||
-                            lower.contains("junior developer") ||
-                            lower.contains("senior developer") ||
-                            lower.contains("entry level") ||
-                            lower.contains("full stack") ||
-                            lower.contains("web development") ||
-                            lower.contains("analyze different job") ||
-                            lower.contains("cover letter generator") ||
-                            lower.contains("resume guide") ||
-                            lower.contains("roadmap") ||
-                            lower.contains("bakenddevloper") ||
-                            lower.contains("job description") ||
-                            lower.contains("resume analysis") ||
-                            lower.contains("ats score") ||
-                            lower.contains("skill gaps") ||
-                            lower.contains("matched skills") ||
-                            lower.contains("pro tips") ||
-                            lower.contains("resume") ||
-                            lower.contains("candidate") ||
-                            lower.contains("learning tips") ||
-                            lower.contains("formatting tips") ||
-                            lower.contains("industry standard") ||
-                            lower.contains("overall job fit") ||
-                            lower.contains("analysis complete") ||
-                            lower.contains("match summary") ||
-                            lower.contains("critical gap") ||
-                            lower.contains("strategic recommendation") ||
-                            lower.contains("score") ||
-                            lower.contains("summary") ||
-                            lower.contains("strength") ||
-                            lower.contains("goal") ||
-                            lower.contains("expert tip") ||
-                            lower.length() < 2;
+                    // 2. Filter out Broad Roles/Domains & UI Noise (shared with SkillAnalysisService)
+                    boolean isBroadRoleOrNoise = noiseFilter.isNoise(s);
 
                     return !isSoft && !isBroadRoleOrNoise;
                 })
@@ -179,7 +145,7 @@ public class MatchService {
     }
 
     private double calculateJobTitleScore(String targetTitle, String resumeTitle,
-            Map<String, List<Float>> embeddingContext) {
+            Map<String, Embedding> embeddingContext) {
         if (targetTitle == null || targetTitle.isBlank() || resumeTitle == null || resumeTitle.isBlank())
             return 50.0;
 
@@ -191,8 +157,12 @@ public class MatchService {
             return 100.0;
 
         // Semantic similarity match
-        List<Float> tEmb = embeddingContext.getOrDefault(t, embeddingService.generateEmbedding(t));
-        List<Float> rEmb = embeddingContext.getOrDefault(r, embeddingService.generateEmbedding(r));
+        Embedding tEmb = embeddingContext.get(t);
+        if (tEmb == null)
+            tEmb = embeddingService.generateEmbedding(t);
+        Embedding rEmb = embeddingContext.get(r);
+        if (rEmb == null)
+            rEmb = embeddingService.generateEmbedding(r);
         double sim = embeddingService.calculateCosineSimilarity(tEmb, rEmb);
 
         return sim * 100.0;
@@ -245,7 +215,7 @@ public class MatchService {
     private double calculateHardSkillsMatch(AnalysisResponse fullRes, String jdText,
             Map<String, SkillEvidence> jdSkills,
             Map<String, SkillEvidence> resumeSkills,
-            Map<String, List<Float>> embeddingContext) {
+            Map<String, Embedding> embeddingContext) {
 
         log.info("🔍 Calculating Fair-Weighted Hard Skills...");
 
@@ -371,7 +341,7 @@ public class MatchService {
     }
 
     private boolean isSkillPresent(String skill, Map<String, SkillEvidence> resumeSkills,
-            Map<String, List<Float>> embeddingContext, List<String> aiMatchedList) {
+            Map<String, Embedding> embeddingContext, List<String> aiMatchedList) {
         if (skill == null)
             return false;
         String skillLower = skill.toLowerCase().trim();
@@ -394,7 +364,7 @@ public class MatchService {
 
     private double calculateSoftSkillsMatch(Map<String, SkillEvidence> jdSkills,
             Map<String, SkillEvidence> resumeSkills,
-            Map<String, List<Float>> embeddingContext,
+            Map<String, Embedding> embeddingContext,
             String jdText) {
 
         Set<String> csvSoftSkills = dataService.getAllSkillNames().stream()
@@ -438,7 +408,7 @@ public class MatchService {
 
     private double applyRefinedPenaltiesMultiplier(String jdText,
             Map<String, SkillEvidence> resumeSkills,
-            Map<String, List<Float>> embeddingContext,
+            Map<String, Embedding> embeddingContext,
             List<String> mandatorySkills,
             List<String> aiMatchedList) {
 
@@ -475,20 +445,11 @@ public class MatchService {
     }
 
     private boolean checkCorrelatedSkillMatch(String jdSkill, Map<String, SkillEvidence> resumeSkills,
-            Map<String, List<Float>> embeddingContext) {
+            Map<String, Embedding> embeddingContext) {
         String jdLower = jdSkill.toLowerCase().trim();
 
-        // Vector Similarity fallback (The Semantic AI Matcher)
-        List<Float> targetEmb = embeddingContext.get(jdLower);
-        if (targetEmb == null)
-            return false;
-
         for (String resSkill : resumeSkills.keySet()) {
-            List<Float> resEmb = embeddingContext.get(resSkill.toLowerCase());
-            if (resEmb == null)
-                continue;
-
-            double similarity = embeddingService.calculateCosineSimilarity(targetEmb, resEmb);
+            double similarity = skillSimilarity(jdLower, resSkill.toLowerCase(), embeddingContext);
             if (similarity >= 0.80) { // Slightly more relaxed for concept grouping
                 return true;
             }
@@ -496,6 +457,24 @@ public class MatchService {
         return false;
     }
 
+    /**
+     * Similarity between two lowercase skill names: a table lookup when both are
+     * taxonomy skills, otherwise cosine over the request's embedding context
+     * (0.0 if either vector is missing).
+     */
+    private double skillSimilarity(String a, String b, Map<String, Embedding> embeddingContext) {
+        if (similarityIndex.isIndexed(a) && similarityIndex.isIndexed(b)) {
+            return similarityIndex.similarity(a, b);
+        }
+
+        // Vector Similarity fallback (The Semantic AI Matcher)
+        Embedding aEmb = embeddingContext.get(a);
+        Embedding bEmb = embeddingContext.get(b);
+        if (aEmb == null || bEmb == null)
+            return 0.0;
+        return embeddingService.calculateCosineSimilarity(aEmb, bEmb);
+    }
+
     // ============================================
     // MATCH LEVEL & RECOMMENDATIONS
     // ============================================
@@ -551,8 +530,9 @@ public class MatchService {
         // 1. CONSOLIDATED CACHED ANALYSIS (Single Source of Truth)
         AiSkillProfile profile = skillService.getCachedProfile(jdText, resumeText);
         if (profile == null) {
-            log.error("Failed to analyze skills with AI");
-            return new AnalysisResponse();
+            // Groq down, shed or unparseable: score the dictionary match instead
+            log.warn("⚠️ AI skill analysis unavailable, falling back to rule-based matching");
+            profile = skillService.ruleBasedProfile(jdText, resumeText);
         }
 
         // 2. PRE-CALCULATE ALL EMBEDDINGS (Single Batch)
@@ -582,7 +562,7 @@ public class MatchService {
                     .addAll(profile.getMissingSkills().stream().map(String::toLowerCase).collect(Collectors.toSet()));
 
         log.info("🚀 Pre-calculating embeddings for {} priority keywords...", stringsToEmbed.size());
-        Map<String, List<Float>> embeddingContext = embeddingService
+        Map<String, Embedding> embeddingContext = embeddingService
                 .batchGenerateEmbeddings(new ArrayList<>(stringsToEmbed));
 
         // 3. PREPARE FINAL SKILL MAPS
@@ -762,7 +742,7 @@ public class MatchService {
      * Replaces hardcoded SKILL_GROUPS with vector similarity.
      */
     private void completeBidirectionalReconcile(List<String> matched, List<String> missing,
-            Map<String, List<Float>> embeddingContext) {
+            Map<String, Embedding> embeddingContext) {
         if (matched == null || missing == null || embeddingContext == null)
             return;
 
@@ -771,22 +751,10 @@ public class MatchService {
 
         for (String gap : missing) {
             String gapLower = gap.toLowerCase();
-            List<Float> gapEmb = embeddingContext.get(gapLower);
-
-            // If embedding missing, try generating it on the fly (fallback)
-            if (gapEmb == null) {
-                // We typically expect them in context, but purely for robustness:
-                continue;
-            }
 
             // Check if any matched skill covers this gap
             for (String have : matched) {
-                String haveLower = have.toLowerCase();
-                List<Float> haveEmb = embeddingContext.get(haveLower);
-                if (haveEmb == null)
-                    continue;
-
-                double sim = embeddingService.calculateCosineSimilarity(gapEmb, haveEmb);
+                double sim = skillSimilarity(gapLower, have.toLowerCase(), embeddingContext);
 
                 // Threshold 0.82 covers implicit relationships (e.g. React -> Frontend)
                 if (sim >= 0.82) {
@@ -810,26 +778,8 @@ public class MatchService {
         if (text == null || text.isBlank())
             return new ArrayList<>();
 
-        Set<String> foundSkills = new HashSet<>();
-        String lower = text.toLowerCase();
-
-        // 1. Scan Topic Names
-        for (String skillName : dataService.getAllSkillNames()) {
-            String regex = "\\b" + java.util.regex.Pattern.quote(skillName.toLowerCase()) + "\\b";
-            if (java.util.regex.Pattern.compile(regex).matcher(lower).find()) {
-                foundSkills.add(dataService.getSkillDisplayName(skillName));
-            }
-        }
-
-        // 2. Scan Keywords (e.g. OOPS, JS, DSA)
-        for (String keyword : dataService.getAllKeywords()) {
-            String regex = "\\b" + java.util.regex.Pattern.quote(keyword.toLowerCase()) + "\\b";
-            if (java.util.regex.Pattern.compile(regex).matcher(lower).find()) {
-                foundSkills.add(dataService.getSkillDisplayName(keyword));
-            }
-        }
-
-        return new ArrayList<>(foundSkills);
+        // Single Aho-Corasick pass over topic names and keywords (e.g. OOPS, JS, DSA)
+        return new ArrayList<>(dataService.extractSkillNames(text));
     }
 
     private Map<String, SkillEvidence> buildSkillMap(List<String> skills) {
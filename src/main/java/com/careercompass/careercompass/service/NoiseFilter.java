@@ -0,0 +1,180 @@
+package com.careercompass.careercompass.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * NoiseFilter
+ *
+ * Broad-role / UI-noise blacklist shared by MatchService and
+ * SkillAnalysisService, loaded from data/noise_terms.csv. Each term has a
+ * scope:
+ * - skill: a skill name containing the term is dropped from skill lists
+ * - text: the term is stripped from LLM text (professionalize)
+ * - both
+ *
+ * Text terms are case-insensitive, swallow a trailing ':' and may end in
+ * " #" to mean "followed by a number" (e.g. "tip #" strips "Tip 3:").
+ *
+ * Both checks compile to one SkillDictionaryMatcher each, so a skill name or
+ * an LLM answer is cleaned in a single pass however long the list grows.
+ */
+@Service
+public class NoiseFilter {
+    private static final Logger log = LoggerFactory.getLogger(NoiseFilter.class);
+
+    private static final String NUMBER_SUFFIX = " #";
+    // Room after the longest term for a number and a colon when cutting a stream
+    private static final int STREAM_MARGIN = 8;
+
+    private final SkillDictionaryMatcher skillNoise;
+    private final SkillDictionaryMatcher textNoise;
+    // Text terms that must be followed by " <digits>" to count
+    private final Set<String> numberedTerms = new HashSet<>();
+    private final int maxTermLength;
+
+    public NoiseFilter(@Value("${noise.terms.path:data/noise_terms.csv}") String path) {
+        Map<String, String> skillTerms = new LinkedHashMap<>();
+        Map<String, String> textTerms = new LinkedHashMap<>();
+
+        try (Reader reader = new InputStreamReader(new ClassPathResource(path).getInputStream());
+                CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                String term = record.get("term").trim().toLowerCase();
+                String scope = record.get("scope").trim().toLowerCase();
+                if (term.isEmpty())
+                    continue;
+
+                if (scope.equals("skill") || scope.equals("both")) {
+                    skillTerms.put(term, term);
+                }
+                if (scope.equals("text") || scope.equals("both")) {
+                    if (term.endsWith(NUMBER_SUFFIX)) {
+                        term = term.substring(0, term.length() - NUMBER_SUFFIX.length()).trim();
+                        numberedTerms.add(term);
+                    }
+                    textTerms.put(term, term);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load noise terms from " + path, e);
+        }
+
+        this.skillNoise = new SkillDictionaryMatcher(skillTerms);
+        this.textNoise = new SkillDictionaryMatcher(textTerms);
+        this.maxTermLength = textNoise.maxTermLength();
+        log.info("🧹 Noise filter loaded: {} skill terms, {} text terms", skillNoise.size(), textNoise.size());
+    }
+
+    /**
+     * True if a skill name is a broad role, a UI label or too short to be a skill.
+     */
+    public boolean isNoise(String skill) {
+        if (skill == null || skill.length() < 2)
+            return true;
+        return !skillNoise.findAll(skill, false).isEmpty();
+    }
+
+    /**
+     * Removes report headings and UI labels from LLM text. Overlapping hits are
+     * resolved leftmost first, then longest. Whitespace is left for the caller
+     * to normalize.
+     */
+    public String strip(String text) {
+        if (text == null || text.isEmpty())
+            return text;
+
+        List<int[]> spans = noiseSpans(text);
+        if (spans.isEmpty())
+            return text;
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int cursor = 0;
+        for (int[] span : spans) {
+            sb.append(text, cursor, span[0]);
+            cursor = span[1];
+        }
+        sb.append(text, cursor, text.length());
+        return sb.toString();
+    }
+
+    /**
+     * For streamed text: the last whitespace offset in {@code text} that no
+     * noise term straddles and that is far enough from the end that text still
+     * to arrive cannot complete a term before it. strip() of the prefix up to
+     * that offset equals the same part of strip() over the whole text. 0 if no
+     * such offset exists yet.
+     */
+    public int safeCut(CharSequence text) {
+        int limit = text.length() - maxTermLength - STREAM_MARGIN;
+        if (limit <= 0)
+            return 0;
+        List<int[]> spans = noiseSpans(text);
+        for (int i = limit; i > 0; i--) {
+            if (!Character.isWhitespace(text.charAt(i)))
+                continue;
+            int cut = i;
+            if (spans.stream().noneMatch(span -> span[0] < cut && cut < span[1]))
+                return cut;
+        }
+        return 0;
+    }
+
+    // [start, end) ranges to remove: hits resolved leftmost then longest,
+    // extended over a required number and a trailing colon
+    private List<int[]> noiseSpans(CharSequence text) {
+        List<SkillDictionaryMatcher.Match> hits = new ArrayList<>(textNoise.findAll(text, false));
+        if (hits.isEmpty())
+            return List.of();
+        hits.sort(Comparator.comparingInt(SkillDictionaryMatcher.Match::start)
+                .thenComparing(Comparator.comparingInt(SkillDictionaryMatcher.Match::end).reversed()));
+
+        List<int[]> spans = new ArrayList<>();
+        int cursor = 0;
+        for (SkillDictionaryMatcher.Match hit : hits) {
+            if (hit.start() < cursor)
+                continue;
+
+            int end = hit.end();
+            if (numberedTerms.contains(hit.term())) {
+                end = skipNumber(text, end);
+                if (end < 0)
+                    continue;
+            }
+            if (end < text.length() && text.charAt(end) == ':')
+                end++;
+
+            spans.add(new int[] { hit.start(), end });
+            cursor = end;
+        }
+        return spans;
+    }
+
+    // " 12" right after a numbered term -> index past the digits, else -1
+    private static int skipNumber(CharSequence text, int from) {
+        if (from >= text.length() || text.charAt(from) != ' ')
+            return -1;
+        int i = from + 1;
+        while (i < text.length() && Character.isDigit(text.charAt(i)))
+            i++;
+        return i > from + 1 ? i : -1;
+    }
+}
@@ -0,0 +1,237 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PineconeJson
+ *
+ * Streaming (de)serialization of Pinecone request and response bodies with
+ * Jackson's JsonGenerator/JsonParser. Vector values are written straight from
+ * float[] and query matches are read token by token from the response
+ * stream, so no intermediate JSON tree or boxed floats are built.
+ */
+final class PineconeJson {
+
+    // The caller owns the output stream (an OkHttp request sink)
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private PineconeJson() {
+    }
+
+    /**
+     * {"vectors": [{"id", "values", "metadata"}, ...]}. Snippets without a
+     * vector are skipped.
+     */
+    static void writeUpsert(OutputStream out, List<CsvSnippetLoader.Snippets> snippets, List<Embedding> vectors)
+            throws IOException {
+        try (JsonGenerator g = FACTORY.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeArrayFieldStart("vectors");
+            for (int i = 0; i < snippets.size(); i++) {
+                Embedding embedding = vectors.get(i);
+                if (embedding == null || embedding.isEmpty())
+                    continue;
+                CsvSnippetLoader.Snippets snippet = snippets.get(i);
+
+                g.writeStartObject();
+                g.writeStringField("id", snippet.getId());
+                g.writeFieldName("values");
+                writeFloats(g, embedding.values());
+
+                g.writeObjectFieldStart("metadata");
+                g.writeStringField("topic", snippet.getTopic());
+                g.writeStringField("category", snippet.getCategory());
+                g.writeStringField("adviceText", snippet.getAdviceText());
+                g.writeStringField("keywords", String.join(",", snippet.getKeywords()));
+
+                // Normalized copies for server-side SearchFilter pushdown
+                g.writeStringField("categoryKey",
+                        snippet.getCategory() != null ? VectorStore.SearchFilter.key(snippet.getCategory()) : "");
+                g.writeArrayFieldStart("keywordList");
+                for (String keyword : snippet.getKeywords().stream()
+                        .filter(k -> k != null && !k.isBlank())
+                        .map(VectorStore.SearchFilter::key)
+                        .distinct()
+                        .toList()) {
+                    g.writeString(keyword);
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * {"vector": [...], "topK": k, "includeMetadata": true, "filter": {...}}
+     * where the filter is {"categoryKey": {"$in": [...]}, "keywordList":
+     * {"$in": [...]}} and only present for metadata restrictions.
+     */
+    static void writeQuery(OutputStream out, float[] vector, int topK, VectorStore.SearchFilter filter)
+            throws IOException {
+        try (JsonGenerator g = FACTORY.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeFieldName("vector");
+            writeFloats(g, vector);
+            g.writeNumberField("topK", topK);
+            g.writeBooleanField("includeMetadata", true);
+            if (filter.hasMetadataFilter()) {
+                g.writeObjectFieldStart("filter");
+                if (!filter.categories().isEmpty())
+                    writeIn(g, "categoryKey", filter.categories());
+                if (!filter.keywords().isEmpty())
+                    writeIn(g, "keywordList", filter.keywords());
+                g.writeEndObject();
+            }
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * {"ids": [...]}
+     */
+    static void writeDelete(OutputStream out, List<String> ids) throws IOException {
+        try (JsonGenerator g = FACTORY.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeArrayFieldStart("ids");
+            for (String id : ids)
+                g.writeString(id);
+            g.writeEndArray();
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * Matches of a /query response, best first, stopping at the first one below
+     * {@code minScore} (Pinecone sorts by score). Matches without metadata are
+     * skipped.
+     */
+    static List<VectorStore.ScoredSnippet> readMatches(InputStream in, double minScore) throws IOException {
+        List<VectorStore.ScoredSnippet> results = new ArrayList<>();
+        try (JsonParser p = FACTORY.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT)
+                throw new IOException("Pinecone query response is not a JSON object");
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if (!"matches".equals(field) || value != JsonToken.START_ARRAY) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    VectorStore.ScoredSnippet match = readMatch(p);
+                    if (match == null)
+                        continue;
+                    if (match.getScore() < minScore)
+                        return results;
+                    results.add(match);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads "totalVectorCount" from a /describe_index_stats response; -1 if
+     * absent.
+     */
+    static long readTotalVectorCount(InputStream in) throws IOException {
+        try (JsonParser p = FACTORY.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT)
+                return -1;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("totalVectorCount".equals(field))
+                    return p.getLongValue();
+                p.skipChildren();
+            }
+        }
+        return -1;
+    }
+
+    private static VectorStore.ScoredSnippet readMatch(JsonParser p) throws IOException {
+        String id = null;
+        double score = 0;
+        String topic = "Unknown";
+        String category = "General";
+        String adviceText = "";
+        String keywords = "";
+        boolean hasMetadata = false;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "id" -> id = p.getText();
+                case "score" -> score = p.getDoubleValue();
+                case "metadata" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        break;
+                    }
+                    hasMetadata = true;
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = p.currentName();
+                        JsonToken metaValue = p.nextToken();
+                        if (metaValue != JsonToken.VALUE_STRING) {
+                            p.skipChildren();
+                            continue;
+                        }
+                        switch (key) {
+                            case "topic" -> topic = p.getText();
+                            case "category" -> category = p.getText();
+                            case "adviceText" -> adviceText = p.getText();
+                            case "keywords" -> keywords = p.getText();
+                            default -> {
+                            }
+                        }
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+
+        if (!hasMetadata) {
+            System.out.println("   ⚠️ Warning: Match " + id + " has NO metadata!");
+            return null;
+        }
+        CsvSnippetLoader.Snippets snippet = new CsvSnippetLoader.Snippets(id, topic, category,
+                Arrays.asList(keywords.split(",")), adviceText);
+        return new VectorStore.ScoredSnippet(snippet, score);
+    }
+
+    private static void writeFloats(JsonGenerator g, float[] values) throws IOException {
+        g.writeStartArray();
+        for (float v : values)
+            g.writeNumber(v);
+        g.writeEndArray();
+    }
+
+    private static void writeIn(JsonGenerator g, String field, Set<String> values) throws IOException {
+        g.writeObjectFieldStart(field);
+        g.writeArrayFieldStart("$in");
+        for (String v : values)
+            g.writeString(v);
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+}
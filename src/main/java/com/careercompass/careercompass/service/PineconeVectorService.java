@@ -1,31 +1,49 @@
 package com.careercompass.careercompass.service;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import jakarta.annotation.PreDestroy;
 import okhttp3.*;
+import okio.BufferedSink;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Service
+@ConditionalOnProperty(name = "vector.store.type", havingValue = "pinecone", matchIfMissing = true)
 @SuppressWarnings("all")
-public class PineconeVectorService {
+public class PineconeVectorService implements VectorStore {
 
     @Autowired
     private EmbeddingService embeddingService;
 
+    @Autowired
+    private CircuitBreakers breakers;
+
     @Value("${pinecone.index.url}")
     private String indexUrl;
 
     @Value("${pinecone.api.key}")
     private String apiKey;
 
+    // semanticSearchBatch: queries run concurrently and must all finish within
+    // one shared deadline; stragglers come back empty
+    @Value("${pinecone.query.batch-deadline-ms:3000}")
+    private long batchDeadlineMs = 3000;
+
+    private final ExecutorService queryPool = Executors.newFixedThreadPool(8, r -> {
+        Thread t = new Thread(r, "pinecone-query");
+        t.setDaemon(true);
+        return t;
+    });
+
     private final OkHttpClient httpClient = new OkHttpClient();
-    private final Gson gson = new Gson();
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
     /**
@@ -33,43 +51,42 @@ public class PineconeVectorService {
      * 
      * @param snippets Batch of snippets to store
      */
+    @Override
     public void upsertSnippetsBatch(List<CsvSnippetLoader.Snippets> snippets) {
         if (snippets.isEmpty())
             return;
 
-        try {
-            JsonObject requestBody = new JsonObject();
-            JsonArray vectors = new JsonArray();
-
-            for (CsvSnippetLoader.Snippets snippet : snippets) {
-                // Generate embedding for the snippet's advice text
-                String textToEmbed = snippet.getTopic() + " " + snippet.getAdviceText();
-                List<Float> embedding = embeddingService.generateEmbedding(textToEmbed);
-
-                // Create vector with metadata
-                JsonObject vector = new JsonObject();
-                vector.addProperty("id", snippet.getId());
-
-                JsonArray values = new JsonArray();
-                for (Float value : embedding) {
-                    values.add(value);
-                }
-                vector.add("values", values);
+        // One batch embedding request for the snippets' advice text
+        List<String> texts = new ArrayList<>(snippets.size());
+        for (CsvSnippetLoader.Snippets snippet : snippets) {
+            texts.add(VectorStore.embeddingText(snippet));
+        }
+        List<Embedding> aligned = embeddingService.batchGenerateAligned(texts);
+        Map<String, Embedding> vectors = new HashMap<>();
+        for (int i = 0; i < snippets.size(); i++) {
+            if (aligned.get(i) != null)
+                vectors.put(snippets.get(i).getId(), aligned.get(i));
+        }
+        upsertEmbedded(snippets, vectors);
+    }
 
-                // Add metadata
-                JsonObject metadata = new JsonObject();
-                metadata.addProperty("topic", snippet.getTopic());
-                metadata.addProperty("category", snippet.getCategory());
-                metadata.addProperty("adviceText", snippet.getAdviceText());
-                metadata.addProperty("keywords", String.join(",", snippet.getKeywords()));
-                vector.add("metadata", metadata);
+    /**
+     * Upserts snippets with precomputed vectors; throws if Pinecone rejects the
+     * batch.
+     */
+    @Override
+    public void upsertEmbedded(List<CsvSnippetLoader.Snippets> snippets, Map<String, Embedding> vectors) {
+        if (snippets.isEmpty() || vectors.isEmpty())
+            return;
 
-                vectors.add(vector);
+        try {
+            List<Embedding> embeddings = new ArrayList<>(snippets.size());
+            for (CsvSnippetLoader.Snippets snippet : snippets) {
+                embeddings.add(vectors.get(snippet.getId()));
             }
 
-            requestBody.add("vectors", vectors);
-
-            RequestBody body = RequestBody.create(gson.toJson(requestBody), JSON);
+            // Vectors + metadata are streamed straight into the request body
+            RequestBody body = jsonBody(out -> PineconeJson.writeUpsert(out, snippets, embeddings));
 
             Request request = new Request.Builder()
                     .url(indexUrl + "/vectors/upsert")
@@ -95,6 +112,32 @@ public class PineconeVectorService {
         }
     }
 
+    /**
+     * Delete vectors by id, 1000 per request (Pinecone's limit)
+     */
+    @Override
+    public void deleteSnippets(Collection<String> ids) {
+        List<String> all = new ArrayList<>(ids);
+        for (int i = 0; i < all.size(); i += 1000) {
+            List<String> chunk = all.subList(i, Math.min(i + 1000, all.size()));
+            Request request = new Request.Builder()
+                    .url(indexUrl + "/vectors/delete")
+                    .addHeader("Api-Key", apiKey)
+                    .addHeader("Content-Type", "application/json")
+                    .addHeader("X-Pinecone-Api-Version", "2024-10")
+                    .post(jsonBody(out -> PineconeJson.writeDelete(out, chunk)))
+                    .build();
+
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("Pinecone delete failed: " + response.code() + " - " + response.message());
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to delete " + chunk.size() + " vectors", e);
+            }
+        }
+    }
+
     /**
      * Upsert a single snippet (Wrapper for batch)
      */
@@ -103,153 +146,198 @@ public class PineconeVectorService {
     }
 
     /**
-     * Perform semantic search in Pinecone index
+     * Perform semantic search in Pinecone index. Category/keyword filters are sent
+     * as a metadata filter on categoryKey/keywordList (written by
+     * upsertSnippetsBatch, so older vectors need a re-ingest to match); the score
+     * floor is applied to the returned matches.
      * 
-     * @param query The search query
-     * @param topK  Number of results to return
+     * @param query  The search query
+     * @param topK   Number of results to return
+     * @param filter Metadata and score restrictions
      * @return List of matching snippets with scores
      */
-    public List<ScoredSnippet> semanticSearch(String query, int topK) {
+    @Override
+    public List<ScoredSnippet> semanticSearch(String query, int topK, SearchFilter filter) {
+        if (!isAvailable())
+            return new ArrayList<>();
         try {
             // Generate embedding for the query
-            List<Float> queryEmbedding = embeddingService.generateEmbedding(query);
+            Embedding queryEmbedding = embeddingService.generateEmbedding(query);
             if (queryEmbedding == null || queryEmbedding.isEmpty()) {
                 System.err.println("⚠️ Skipping Pinecone query due to empty embedding.");
                 return new ArrayList<>();
             }
-
-            // Build query request
-            JsonObject requestBody = new JsonObject();
-
-            JsonArray values = new JsonArray();
-            for (Float value : queryEmbedding) {
-                values.add(value);
+            return query(queryEmbedding, topK, filter);
+        } catch (Exception e) {
+            System.err.println("❌ Error performing semantic search: " + e.getMessage());
+            if (e.getCause() != null) {
+                System.err.println("   - Nested Cause: " + e.getCause().getMessage());
             }
-            requestBody.add("vector", values);
-            requestBody.addProperty("topK", topK);
-            requestBody.addProperty("includeMetadata", true);
-
-            RequestBody body = RequestBody.create(gson.toJson(requestBody), JSON);
+            // Return empty list on error to allow fallback
+            return new ArrayList<>();
+        }
+    }
 
-            Request request = new Request.Builder()
-                    .url(indexUrl + "/query")
-                    .addHeader("Api-Key", apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("X-Pinecone-Api-Version", "2024-10")
-                    .post(body)
-                    .build();
+    /**
+     * Embeds all queries in one batch request, then sends the Pinecone queries
+     * in parallel. Every query shares one deadline (pinecone.query.batch-deadline-ms);
+     * any query still running or failed at that point gets an empty list. The
+     * batch is one call for the Pinecone circuit: it succeeds if any query was
+     * answered, and fails only if none was and Pinecone errored or was too slow.
+     */
+    @Override
+    public List<List<ScoredSnippet>> semanticSearchBatch(List<String> queries, int topK, SearchFilter filter) {
+        if (!isAvailable())
+            return emptyResults(queries.size());
+        CircuitBreaker breaker = breakers.pinecone();
+        if (!breaker.tryAcquire())
+            return emptyResults(queries.size());
+
+        List<Embedding> embeddings = embeddingService.batchGenerateAligned(queries);
+
+        List<Future<List<ScoredSnippet>>> futures = new ArrayList<>(queries.size());
+        for (Embedding embedding : embeddings) {
+            futures.add(embedding == null ? null : queryPool.submit(() -> send(embedding, topK, filter)));
+        }
 
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    throw new IOException("Pinecone query failed: " + response.code() + " - " + response.message());
-                }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchDeadlineMs);
+        List<List<ScoredSnippet>> results = new ArrayList<>(queries.size());
+        int answered = 0;
+        boolean outage = false;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<List<ScoredSnippet>> future = futures.get(i);
+            if (future == null) {
+                results.add(new ArrayList<>());
+                continue;
+            }
+            try {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                answered++;
+            } catch (TimeoutException e) {
+                // Our own cancel interrupts the straggler; it is not reported per query
+                future.cancel(true);
+                System.err.println("⚠️ Pinecone batch query '" + queries.get(i) + "' missed the deadline.");
+                results.add(new ArrayList<>());
+                outage = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                results.add(new ArrayList<>());
+            } catch (ExecutionException e) {
+                System.err.println("❌ Pinecone batch query failed: " + e.getCause().getMessage());
+                results.add(new ArrayList<>());
+                outage |= isOutage(e.getCause());
+            }
+        }
 
-                String responseBody = response.body().string();
-                // DEBUG LOG: Print raw response from Pinecone (Removed for security)
-                // System.out.println("🔎 RAW Pinecone Response: " + responseBody);
+        if (answered > 0)
+            breaker.onSuccess();
+        else if (outage)
+            breaker.onFailure();
+        else
+            breaker.onIgnored();
+        return results;
+    }
 
-                JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
+    /**
+     * Queries need both Gemini (query vector) and Pinecone; either circuit
+     * being open makes search unavailable.
+     */
+    @Override
+    public boolean isAvailable() {
+        return breakers.pinecone().isAvailable() && breakers.gemini().isAvailable();
+    }
 
-                // Parse matches
-                List<ScoredSnippet> results = new ArrayList<>();
+    @PreDestroy
+    public void shutdown() {
+        queryPool.shutdownNow();
+    }
 
-                if (jsonResponse.has("matches")) {
-                    JsonArray matches = jsonResponse.getAsJsonArray("matches");
-                    System.out.println("📊 Matches found: " + matches.size());
+    private static List<List<ScoredSnippet>> emptyResults(int size) {
+        List<List<ScoredSnippet>> empty = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            empty.add(new ArrayList<>());
+        return empty;
+    }
 
-                    for (int i = 0; i < matches.size(); i++) {
-                        JsonObject match = matches.get(i).getAsJsonObject();
+    /**
+     * One query, reported to the Pinecone circuit on its own.
+     */
+    private List<ScoredSnippet> query(Embedding queryEmbedding, int topK, SearchFilter filter) throws IOException {
+        CircuitBreaker breaker = breakers.pinecone();
+        if (!breaker.tryAcquire())
+            return new ArrayList<>();
 
-                        // DEBUG LOG: Print individual match structure if needed
-                        // System.out.println(" Match " + i + ": " + match);
+        try {
+            List<ScoredSnippet> results = send(queryEmbedding, topK, filter);
+            breaker.onSuccess();
+            return results;
+        } catch (IOException e) {
+            if (isOutage(e))
+                breaker.onFailure();
+            else
+                breaker.onIgnored();
+            throw e;
+        }
+    }
 
-                        String id = match.get("id").getAsString();
-                        double score = match.get("score").getAsDouble();
-                        JsonObject metadata = match.getAsJsonObject("metadata");
+    /**
+     * Transport errors, 429 and 5xx say Pinecone is struggling; other 4xx are
+     * about the query.
+     */
+    private static boolean isOutage(Throwable error) {
+        return !(error instanceof PineconeHttpException http) || http.status == 429 || http.status >= 500;
+    }
 
-                        if (metadata == null) {
-                            System.out.println("   ⚠️ Warning: Match " + id + " has NO metadata!");
-                            continue;
-                        }
+    private static final class PineconeHttpException extends IOException {
+        private final int status;
 
-                        // Reconstruct snippet from metadata
-                        // Handle potential missing fields gracefully
-                        String topic = metadata.has("topic") ? metadata.get("topic").getAsString() : "Unknown";
-                        String category = metadata.has("category") ? metadata.get("category").getAsString() : "General";
-                        String adviceText = metadata.has("adviceText") ? metadata.get("adviceText").getAsString() : "";
-                        String keywordsAndStr = metadata.has("keywords") ? metadata.get("keywords").getAsString() : "";
+        PineconeHttpException(int status, String message) {
+            super("Pinecone query failed: " + status + " - " + message);
+            this.status = status;
+        }
+    }
 
-                        CsvSnippetLoader.Snippets snippet = new CsvSnippetLoader.Snippets(
-                                id,
-                                topic,
-                                category,
-                                Arrays.asList(keywordsAndStr.split(",")),
-                                adviceText);
+    private List<ScoredSnippet> send(Embedding queryEmbedding, int topK, SearchFilter filter) throws IOException {
+        RequestBody body = jsonBody(out -> PineconeJson.writeQuery(out, queryEmbedding.values(), topK, filter));
 
-                        results.add(new ScoredSnippet(snippet, score));
-                    }
-                } else {
-                    System.out.println("⚠️ JSON response has no 'matches' field.");
-                }
+        Request request = new Request.Builder()
+                .url(indexUrl + "/query")
+                .addHeader("Api-Key", apiKey)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("X-Pinecone-Api-Version", "2024-10")
+                .post(body)
+                .build();
 
-                return results;
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new PineconeHttpException(response.code(), response.message());
             }
 
-        } catch (Exception e) {
-            System.err.println("❌ Error performing semantic search: " + e.getMessage());
-            if (e.getCause() != null) {
-                System.err.println("   - Nested Cause: " + e.getCause().getMessage());
-            }
-            // Return empty list on error to allow fallback
-            return new ArrayList<>();
+            // Matches are parsed from the response stream; no String or JSON tree
+            List<ScoredSnippet> results = PineconeJson.readMatches(response.body().byteStream(), filter.minScore());
+            System.out.println("📊 Matches found: " + results.size());
+            return results;
         }
     }
 
-    /**
-     * Initialize Pinecone index with all snippets using Batching
-     * 
-     * @param snippets List of snippets to populate
-     */
-    public void initializeIndex(List<CsvSnippetLoader.Snippets> snippets) {
-        System.out.println("🔄 Populating Pinecone index with " + snippets.size() + " snippets (Batch Mode)...");
-
-        int processedCount = 0;
-        int batchSize = 50; // Pinecone recommends smaller batches for complex metadata, 50-100 is safe
-        List<CsvSnippetLoader.Snippets> batch = new ArrayList<>();
-
-        for (CsvSnippetLoader.Snippets snippet : snippets) {
-            batch.add(snippet);
-
-            if (batch.size() >= batchSize) {
-                try {
-                    upsertSnippetsBatch(batch);
-                    processedCount += batch.size();
-                    System.out.println("   ✓ Upserted batch: " + processedCount + "/" + snippets.size());
-                    batch.clear();
-                    // Small delay to be polite to API
-                    Thread.sleep(200);
-                } catch (Exception e) {
-                    System.err.println(
-                            "   ✗ Failed to upsert batch near index " + processedCount + ": " + e.getMessage());
-                    // Don't clear batch if we want retry logic, but for now we skip
-                    batch.clear();
-                }
+    private static RequestBody jsonBody(JsonBodyWriter writer) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON;
             }
-        }
 
-        // Process remaining
-        if (!batch.isEmpty()) {
-            try {
-                upsertSnippetsBatch(batch);
-                processedCount += batch.size();
-                System.out.println("   ✓ Upserted final batch: " + processedCount + "/" + snippets.size());
-            } catch (Exception e) {
-                System.err.println("   ✗ Failed to upsert final batch: " + e.getMessage());
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                writer.write(sink.outputStream());
             }
-        }
+        };
+    }
 
-        System.out.println("✅ Pinecone index initialization complete!");
-        System.out.println("   Total Processed: " + processedCount);
+    @FunctionalInterface
+    private interface JsonBodyWriter {
+        void write(OutputStream out) throws IOException;
     }
 
     /**
@@ -257,6 +345,7 @@ public class PineconeVectorService {
      * 
      * @return true if index has no vectors
      */
+    @Override
     public boolean isIndexEmpty() {
         try {
             Request request = new Request.Builder()
@@ -270,10 +359,9 @@ public class PineconeVectorService {
                 if (response.isSuccessful()) {
                     String responseBody = response.body().string();
                     System.out.println("📊 Pinecone Index Stats: " + responseBody);
-                    JsonObject stats = gson.fromJson(responseBody, JsonObject.class);
-
-                    if (stats.has("totalVectorCount")) {
-                        int count = stats.get("totalVectorCount").getAsInt();
+                    long count = PineconeJson.readTotalVectorCount(
+                            new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)));
+                    if (count >= 0) {
                         return count == 0;
                     }
                 }
@@ -288,6 +376,7 @@ public class PineconeVectorService {
     /**
      * Log full index statistics for verification
      */
+    @Override
     public void logIndexStats() {
         isIndexEmpty(); // Re-uses the logic above which now prints the stats
     }
@@ -305,8 +394,8 @@ public class PineconeVectorService {
         }
 
         try {
-            List<Float> embedding1 = embeddingService.generateEmbedding(text1);
-            List<Float> embedding2 = embeddingService.generateEmbedding(text2);
+            Embedding embedding1 = embeddingService.generateEmbedding(text1);
+            Embedding embedding2 = embeddingService.generateEmbedding(text2);
 
             return embeddingService.calculateCosineSimilarity(embedding1, embedding2);
         } catch (Exception e) {
@@ -314,25 +403,4 @@ public class PineconeVectorService {
             return 0.0;
         }
     }
-
-    /**
-     * Helper class to hold snippet with similarity score
-     */
-    public static class ScoredSnippet {
-        private final CsvSnippetLoader.Snippets snippet;
-        private final double score;
-
-        public ScoredSnippet(CsvSnippetLoader.Snippets snippet, double score) {
-            this.snippet = snippet;
-            this.score = score;
-        }
-
-        public CsvSnippetLoader.Snippets getSnippet() {
-            return snippet;
-        }
-
-        public double getScore() {
-            return score;
-        }
-    }
 }
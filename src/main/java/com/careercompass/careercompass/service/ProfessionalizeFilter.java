@@ -0,0 +1,106 @@
+package com.careercompass.careercompass.service;
+
+/**
+ * ProfessionalizeFilter
+ *
+ * SkillAnalysisService.professionalize as an incremental filter over
+ * streamed LLM text. It strips noise headings, collapses runs of blanks and
+ * blank lines, trims, capitalizes the first letter and ends with a period.
+ * Feed chunks to accept() and forward whatever it returns, then append
+ * finish(). The concatenated output equals professionalize() of the whole text.
+ *
+ * Text is held back only as far as needed: up to the longest noise term
+ * (NoiseFilter.safeCut) plus any trailing whitespace, which cannot be
+ * normalized until the next visible character arrives. Not thread-safe; use
+ * one instance per stream.
+ */
+public final class ProfessionalizeFilter {
+
+    private final NoiseFilter noiseFilter;
+    private final StringBuilder pending = new StringBuilder();
+    private final StringBuilder whitespace = new StringBuilder();
+    private boolean started;
+    private boolean capitalized;
+    private char last;
+
+    public ProfessionalizeFilter(NoiseFilter noiseFilter) {
+        this.noiseFilter = noiseFilter;
+    }
+
+    /**
+     * Adds a chunk of raw text; returns the cleaned text that is now final
+     * (possibly empty).
+     */
+    public String accept(String chunk) {
+        if (chunk == null || chunk.isEmpty())
+            return "";
+        pending.append(chunk);
+        int cut = noiseFilter.safeCut(pending);
+        if (cut == 0)
+            return "";
+        String head = pending.substring(0, cut);
+        pending.delete(0, cut);
+        return normalize(noiseFilter.strip(head));
+    }
+
+    /**
+     * Flushes the held-back tail and closes the text with a period if needed.
+     */
+    public String finish() {
+        String tail = normalize(noiseFilter.strip(pending.toString()));
+        pending.setLength(0);
+        whitespace.setLength(0);
+        if (started && last != '.' && last != '!' && last != '?')
+            tail += ".";
+        return tail;
+    }
+
+    private String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace.append(c);
+                continue;
+            }
+            // Leading whitespace is dropped; later runs are emitted once the
+            // next visible character shows they are not trailing
+            if (started)
+                out.append(collapse(whitespace));
+            whitespace.setLength(0);
+
+            if (!capitalized && Character.isLetter(c)) {
+                c = Character.toUpperCase(c);
+                capitalized = true;
+            }
+            out.append(c);
+            started = true;
+            last = c;
+        }
+        return out.toString();
+    }
+
+    // Runs of 2+ spaces/tabs -> one space; 3+ newlines -> one blank line
+    private static String collapse(CharSequence ws) {
+        StringBuilder sb = new StringBuilder(ws.length());
+        int i = 0;
+        while (i < ws.length()) {
+            char c = ws.charAt(i);
+            int j = i;
+            if (c == ' ' || c == '\t') {
+                while (j < ws.length() && (ws.charAt(j) == ' ' || ws.charAt(j) == '\t'))
+                    j++;
+                sb.append(j - i >= 2 ? " " : String.valueOf(c));
+            } else if (c == '\n') {
+                while (j < ws.length() && ws.charAt(j) == '\n')
+                    j++;
+                sb.append(j - i >= 3 ? "\n\n" : ws.subSequence(i, j));
+            } else {
+                j++;
+                sb.append(c);
+            }
+            i = j;
+        }
+        return sb.toString();
+    }
+}
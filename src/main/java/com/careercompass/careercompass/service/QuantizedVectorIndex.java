@@ -0,0 +1,190 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * QuantizedVectorIndex
+ *
+ * Exact-scan index over int8 codes: each normalized vector is stored as one
+ * byte per dimension plus a float scale (max |component| / 127), a quarter of
+ * FlatVectorIndex's footprint. Queries are quantized the same way and scored
+ * with integer dot products.
+ *
+ * The best {@code k * rerankFactor} candidates are then re-scored with their
+ * float vectors, fetched through {@code exactVectors} (e.g. the memory-mapped
+ * snippet store), so the returned order and scores match the float index.
+ * Without a float vector the approximate score is kept.
+ */
+public final class QuantizedVectorIndex implements VectorIndex {
+
+    private static final int INITIAL_ROWS = 256;
+
+    private final int dimension;
+    private final int rerankFactor;
+    private final IntFunction<float[]> exactVectors;
+
+    private byte[] codes;
+    private float[] scales;
+    private int rows;
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param rerankFactor candidates per requested hit that get float re-scoring
+     * @param exactVectors id -> float vector (unnormalized is fine), or null if
+     *                     unavailable
+     */
+    public QuantizedVectorIndex(int dimension, int rerankFactor, IntFunction<float[]> exactVectors) {
+        if (dimension <= 0 || rerankFactor < 1)
+            throw new IllegalArgumentException("Invalid quantized index parameters");
+        this.dimension = dimension;
+        this.rerankFactor = rerankFactor;
+        this.exactVectors = exactVectors;
+        this.codes = new byte[dimension * INITIAL_ROWS];
+        this.scales = new float[INITIAL_ROWS];
+    }
+
+    @Override
+    public int add(float[] vector) {
+        if (vector.length != dimension)
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+        float[] v = FlatVectorIndex.normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            int row = rows;
+            int offset = row * dimension;
+            if (offset + dimension > codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(codes.length * 2, offset + dimension));
+                scales = Arrays.copyOf(scales, Math.max(scales.length * 2, row + 1));
+            }
+            scales[row] = quantize(v, codes, offset);
+            rows++;
+            return row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        lock.writeLock().lock();
+        try {
+            if (id >= 0 && id < rows && !deleted.get(id)) {
+                deleted.set(id);
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(float[] query, int k, IntPredicate filter) {
+        if (query.length != dimension || k <= 0)
+            return List.of();
+        float[] q = FlatVectorIndex.normalize(query);
+        byte[] qCodes = new byte[dimension];
+        float qScale = quantize(q, qCodes, 0);
+
+        List<Hit> candidates;
+        lock.readLock().lock();
+        try {
+            FlatVectorIndex.TopK top = new FlatVectorIndex.TopK(k * rerankFactor);
+            for (int row = 0; row < rows; row++) {
+                if (deleted.get(row) || !filter.test(row))
+                    continue;
+                int dot = dot(qCodes, codes, row * dimension, dimension);
+                top.offer(row, dot * qScale * scales[row]);
+            }
+            candidates = top.drainBestFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return rerank(q, candidates, k);
+    }
+
+    private List<Hit> rerank(float[] q, List<Hit> candidates, int k) {
+        if (exactVectors == null || candidates.isEmpty())
+            return candidates.size() > k ? new ArrayList<>(candidates.subList(0, k)) : candidates;
+
+        FlatVectorIndex.TopK top = new FlatVectorIndex.TopK(k);
+        for (Hit c : candidates) {
+            float[] exact = exactVectors.apply(c.id());
+            if (exact != null && exact.length == dimension) {
+                float[] v = FlatVectorIndex.normalize(exact);
+                top.offer(c.id(), FlatVectorIndex.dot(q, v, 0, dimension));
+            } else {
+                top.offer(c.id(), c.score());
+            }
+        }
+        return top.drainBestFirst();
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) codes.length + (long) scales.length * Float.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes int8 codes of {@code v} at {@code offset}; returns the scale that
+     * maps a code back to a component (component ~= code * scale).
+     */
+    private static float quantize(float[] v, byte[] out, int offset) {
+        float max = 0f;
+        for (float x : v)
+            max = Math.max(max, Math.abs(x));
+        if (max == 0f)
+            return 0f;
+        float toCode = 127f / max;
+        for (int i = 0; i < v.length; i++)
+            out[offset + i] = (byte) Math.round(v[i] * toCode);
+        return max / 127f;
+    }
+
+    private static int dot(byte[] q, byte[] data, int offset, int length) {
+        int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        int upper = length & ~3;
+        for (; i < upper; i += 4) {
+            s0 += q[i] * data[offset + i];
+            s1 += q[i + 1] * data[offset + i + 1];
+            s2 += q[i + 2] * data[offset + i + 2];
+            s3 += q[i + 3] * data[offset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += q[i] * data[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
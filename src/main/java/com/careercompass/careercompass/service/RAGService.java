@@ -2,6 +2,7 @@ package com.careercompass.careercompass.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -11,23 +12,43 @@ import java.util.stream.Collectors;
 public class RAGService {
     private static final Logger log = LoggerFactory.getLogger(RAGService.class);
 
-    private final PineconeVectorService pineconeVectorService;
+    // Reciprocal rank fusion constant (Cormack et al.)
+    private static final int RRF_K = 60;
+
+    // Candidates per skill from each retriever; two are kept after the isAbout check
+    private static final int SKILL_CANDIDATES = 4;
+
+    private final VectorStore vectorStore;
     private final CacheService cacheService;
+    private final LexicalSearchService lexicalSearch;
+
+    // Fuse BM25 hits into every search; false = vector only (previous behaviour)
+    @Value("${rag.hybrid.enabled:true}")
+    private boolean hybridEnabled = true;
+
+    // Short queries whose best BM25 hit covers this share of the terms skip the
+    // embedding + vector call entirely
+    @Value("${rag.lexical.short-circuit-coverage:0.95}")
+    private double shortCircuitCoverage = 0.95;
 
-    public RAGService(PineconeVectorService pineconeVectorService, CacheService cacheService) {
-        this.pineconeVectorService = pineconeVectorService;
+    @Value("${rag.lexical.short-circuit-max-terms:3}")
+    private int shortCircuitMaxTerms = 3;
+
+    public RAGService(VectorStore vectorStore, CacheService cacheService, LexicalSearchService lexicalSearch) {
+        this.vectorStore = vectorStore;
         this.cacheService = cacheService;
+        this.lexicalSearch = lexicalSearch;
     }
 
     public List<CsvSnippetLoader.Snippets> getRagContext(String query, int limit) {
         if (query == null || query.isBlank())
             return new ArrayList<>();
 
-        log.info("🔍 [Pinecone RAG Search] Query: {}", query);
+        log.info("🔍 [Hybrid RAG Search] Query: {}", query);
         try {
-            List<PineconeVectorService.ScoredSnippet> scored = pineconeVectorService.semanticSearch(query, limit);
+            List<VectorStore.ScoredSnippet> scored = hybridSearch(query, limit, VectorStore.SearchFilter.NONE);
             return scored.stream()
-                    .map(PineconeVectorService.ScoredSnippet::getSnippet)
+                    .map(VectorStore.ScoredSnippet::getSnippet)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             log.error("❌ RAG Search failed: {}", e.getMessage());
@@ -51,28 +72,55 @@ public class RAGService {
             }
 
             if (!uncached.isEmpty()) {
-                String batchQuery = String.join(" ", uncached);
-                try {
-                    List<PineconeVectorService.ScoredSnippet> results = pineconeVectorService.semanticSearch(batchQuery,
-                            12);
-                    for (String skill : uncached) {
-                        String sLower = skill.toLowerCase();
-                        List<CsvSnippetLoader.Snippets> skillSnippets = results.stream()
-                                .filter(r -> r.getScore() > 0.72)
-                                .filter(r -> r.getSnippet() != null &&
-                                        (r.getSnippet().getTopic().toLowerCase().contains(sLower) ||
-                                                r.getSnippet().getAdviceText().toLowerCase().contains(sLower)))
-                                .limit(2)
-                                .map(PineconeVectorService.ScoredSnippet::getSnippet)
-                                .collect(Collectors.toList());
-
-                        if (!skillSnippets.isEmpty()) {
-                            cacheService.putRagContext(sLower, skillSnippets);
-                            context.addAll(skillSnippets);
+                // Exact skill names usually hit BM25 directly; only the rest need
+                // vectors. With the vector store down, BM25 answers them all
+                boolean vectorUp = vectorStore.isAvailable();
+                if (!vectorUp)
+                    log.warn("🔌 Vector store unavailable, skill RAG from BM25 only");
+                Map<String, LexicalSearchService.Result> lexical = new HashMap<>();
+                Set<String> needVector = new HashSet<>();
+                for (String skill : uncached) {
+                    LexicalSearchService.Result result = hybridEnabled || !vectorUp
+                            ? lexicalSearch.search(skill, SKILL_CANDIDATES, VectorStore.SearchFilter.NONE)
+                            : LexicalSearchService.Result.EMPTY;
+                    lexical.put(skill, result);
+                    if (vectorUp && !isConfident(result))
+                        needVector.add(skill);
+                }
+
+                // One query vector per skill, answered in a single batch call; pushed
+                // down: only snippets tagged with one of the skills, above the
+                // relevance floor
+                Map<String, List<VectorStore.ScoredSnippet>> vectorResults = new HashMap<>();
+                if (!needVector.isEmpty()) {
+                    List<String> queries = new ArrayList<>(needVector);
+                    VectorStore.SearchFilter filter = VectorStore.SearchFilter.minScore(0.72)
+                            .withKeywords(needVector);
+                    try {
+                        List<List<VectorStore.ScoredSnippet>> perSkill = vectorStore.semanticSearchBatch(queries,
+                                SKILL_CANDIDATES, filter);
+                        for (int i = 0; i < queries.size(); i++) {
+                            vectorResults.put(queries.get(i), perSkill.get(i));
                         }
+                    } catch (Exception e) {
+                        log.error("Skill RAG error: {}", e.getMessage());
+                    }
+                }
+
+                for (String skill : uncached) {
+                    String sLower = skill.toLowerCase();
+                    List<VectorStore.ScoredSnippet> vectorForSkill = vectorResults.getOrDefault(skill, List.of());
+                    List<CsvSnippetLoader.Snippets> skillSnippets = fuse(vectorForSkill,
+                            lexical.get(skill).hits(), Integer.MAX_VALUE).stream()
+                            .map(VectorStore.ScoredSnippet::getSnippet)
+                            .filter(sn -> isAbout(sn, sLower))
+                            .limit(2)
+                            .collect(Collectors.toList());
+
+                    if (!skillSnippets.isEmpty()) {
+                        cacheService.putRagContext(sLower, skillSnippets);
+                        context.addAll(skillSnippets);
                     }
-                } catch (Exception e) {
-                    log.error("Skill RAG error: {}", e.getMessage());
                 }
             }
         }
@@ -81,14 +129,12 @@ public class RAGService {
         if (rawQuery != null && !rawQuery.trim().isEmpty()) {
             try {
                 log.info("🔍 Broad RAG search for: '{}'", rawQuery);
-                List<PineconeVectorService.ScoredSnippet> broadResults = pineconeVectorService.semanticSearch(rawQuery,
-                        15);
+                List<VectorStore.ScoredSnippet> broadResults = hybridSearch(rawQuery,
+                        8, VectorStore.SearchFilter.minScore(0.65));
 
                 List<CsvSnippetLoader.Snippets> broadSnippets = broadResults.stream()
-                        .filter(r -> r.getScore() > 0.65)
-                        .map(PineconeVectorService.ScoredSnippet::getSnippet)
+                        .map(VectorStore.ScoredSnippet::getSnippet)
                         .filter(Objects::nonNull)
-                        .limit(8)
                         .collect(Collectors.toList());
 
                 context.addAll(broadSnippets);
@@ -108,6 +154,80 @@ public class RAGService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Vector search fused with BM25 by reciprocal rank. The filter's metadata
+     * part applies to both sides; minScore only to the vector side (BM25 scores
+     * are on another scale). A confident lexical answer is returned without
+     * embedding the query. While the vector store is unavailable (circuit
+     * open) BM25 answers alone, even with hybrid retrieval disabled.
+     */
+    List<VectorStore.ScoredSnippet> hybridSearch(String query, int topK, VectorStore.SearchFilter filter) {
+        if (!hybridEnabled && vectorStore.isAvailable())
+            return vectorStore.semanticSearch(query, topK, filter);
+
+        LexicalSearchService.Result lexical = lexicalSearch.search(query, topK, filter);
+        if (isConfident(lexical)) {
+            log.info("⚡ Lexical short-circuit ({} hits, coverage {})", lexical.hits().size(),
+                    String.format("%.2f", lexical.topCoverage()));
+            return lexical.hits();
+        }
+        if (!vectorStore.isAvailable()) {
+            log.warn("🔌 Vector store unavailable, answering from BM25 ({} hits)", lexical.hits().size());
+            return lexical.hits();
+        }
+
+        List<VectorStore.ScoredSnippet> vector;
+        try {
+            vector = vectorStore.semanticSearch(query, topK, filter);
+        } catch (Exception e) {
+            log.warn("⚠️ Vector side of hybrid search failed, using BM25 only: {}", e.getMessage());
+            vector = List.of();
+        }
+        return fuse(vector, lexical.hits(), topK);
+    }
+
+    private boolean isConfident(LexicalSearchService.Result lexical) {
+        return !lexical.hits().isEmpty()
+                && lexical.queryTerms() <= shortCircuitMaxTerms
+                && lexical.topCoverage() >= shortCircuitCoverage;
+    }
+
+    /**
+     * Reciprocal rank fusion by snippet id: score = sum of 1 / (RRF_K + rank).
+     */
+    static List<VectorStore.ScoredSnippet> fuse(List<VectorStore.ScoredSnippet> vector,
+            List<VectorStore.ScoredSnippet> lexical, int topK) {
+        Map<String, CsvSnippetLoader.Snippets> byId = new LinkedHashMap<>();
+        Map<String, Double> fused = new HashMap<>();
+        for (List<VectorStore.ScoredSnippet> ranking : List.of(vector, lexical)) {
+            int rank = 1;
+            for (VectorStore.ScoredSnippet hit : ranking) {
+                CsvSnippetLoader.Snippets snippet = hit.getSnippet();
+                if (snippet == null)
+                    continue;
+                byId.putIfAbsent(snippet.getId(), snippet);
+                fused.merge(snippet.getId(), 1.0 / (RRF_K + rank++), Double::sum);
+            }
+        }
+        return byId.entrySet().stream()
+                .map(e -> new VectorStore.ScoredSnippet(e.getValue(), fused.get(e.getKey())))
+                .sorted(Comparator.comparingDouble(VectorStore.ScoredSnippet::getScore).reversed())
+                .limit(topK)
+                .collect(Collectors.toList());
+    }
+
+    // Snippet tagged with the skill, or naming it in topic/advice
+    private static boolean isAbout(CsvSnippetLoader.Snippets snippet, String skillLower) {
+        if (snippet.getKeywords() != null) {
+            for (String kw : snippet.getKeywords()) {
+                if (kw != null && kw.trim().equalsIgnoreCase(skillLower))
+                    return true;
+            }
+        }
+        return snippet.getTopic().toLowerCase().contains(skillLower)
+                || snippet.getAdviceText().toLowerCase().contains(skillLower);
+    }
+
     public List<CsvSnippetLoader.Snippets> retrieveRelevantSnippets(String question, List<String> missing,
             String roleFocus) {
         try {
@@ -120,12 +240,12 @@ public class RAGService {
             }
 
             String enhancedQuery = queryBuilder.toString();
-            log.info("🔍 Using Pinecone semantic search for query: {}", enhancedQuery);
+            log.info("🔍 Using hybrid search for query: {}", enhancedQuery);
 
-            List<PineconeVectorService.ScoredSnippet> scoredResults = pineconeVectorService
-                    .semanticSearch(enhancedQuery, 8);
+            List<VectorStore.ScoredSnippet> scoredResults = hybridSearch(enhancedQuery, 8,
+                    VectorStore.SearchFilter.NONE);
             return scoredResults.stream()
-                    .map(PineconeVectorService.ScoredSnippet::getSnippet)
+                    .map(VectorStore.ScoredSnippet::getSnippet)
                     .filter(Objects::nonNull)
                     .collect(Collectors.toMap(
                             CsvSnippetLoader.Snippets::getTopic,
@@ -135,7 +255,7 @@ public class RAGService {
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
-            log.error("⚠️ Pinecone search failed: {}", e.getMessage());
+            log.error("⚠️ Vector search failed: {}", e.getMessage());
             return Collections.emptyList();
         }
     }
@@ -0,0 +1,92 @@
+package com.careercompass.careercompass.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight
+ *
+ * Collapses concurrent identical calls: the first caller for a key runs the
+ * loader, and everyone else arriving while it is in flight shares its result
+ * instead of making the same Groq / Gemini request. The entry is dropped as
+ * soon as the call completes, so this is not a cache. Loaders should populate
+ * the real cache themselves and re-check it first, since a caller that missed
+ * the cache may arrive just after the previous flight landed.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Joins the in-flight call for {@code key}, or starts one with
+     * {@code loader}. Failures are shared too.
+     */
+    public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return existing;
+        }
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null)
+                    flight.completeExceptionally(error);
+                else
+                    flight.complete(value);
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight;
+    }
+
+    /**
+     * Blocking form: the leader runs {@code loader} on its own thread, and
+     * followers wait for its result (or its exception).
+     */
+    public V call(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw e;
+            }
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Callers served by another caller's request so far.
+     */
+    public long coalesced() {
+        return coalesced.get();
+    }
+}
@@ -6,9 +6,11 @@ import com.careercompass.careercompass.dto.JobRequirements;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,35 +22,65 @@ public class SkillAnalysisService {
     private final PromptBuilder promptBuilder;
     private final CsvDataService csvDataService;
     private final CacheService cacheService;
+    private final NoiseFilter noiseFilter;
     private final ObjectMapper objectMapper;
+    private final SingleFlight<String, AiSkillProfile> profileFlights = new SingleFlight<>();
+
+    // local | llm
+    @Value("${skill.extraction.mode:local}")
+    private String extractionMode = "local";
 
     public SkillAnalysisService(GroqClient groqClient, RAGService ragService,
             PromptBuilder promptBuilder, CsvDataService csvDataService,
-            CacheService cacheService) {
+            CacheService cacheService, NoiseFilter noiseFilter) {
         this.groqClient = groqClient;
         this.ragService = ragService;
         this.promptBuilder = promptBuilder;
         this.csvDataService = csvDataService;
         this.cacheService = cacheService;
+        this.noiseFilter = noiseFilter;
         this.objectMapper = groqClient.getObjectMapper();
     }
 
     public AiSkillProfile getCachedProfile(String jd, String resume) {
+        return getCachedProfileAsync(jd, resume).join();
+    }
+
+    public CompletableFuture<AiSkillProfile> getCachedProfileAsync(String jd, String resume) {
         String hash = java.util.UUID.nameUUIDFromBytes((jd + resume).getBytes()).toString();
         AiSkillProfile cached = cacheService.getProfile(hash);
         if (cached != null) {
             log.info("🎯 Cache hit for AiSkillProfile");
-            return cached;
+            return CompletableFuture.completedFuture(cached);
         }
 
-        AiSkillProfile fresh = analyzeSkillsWithAi(jd, resume);
-        if (fresh != null) {
-            cacheService.putProfile(hash, fresh);
-        }
-        return fresh;
+        // Identical JDs submitted together share one Groq call
+        return profileFlights.run(hash, () -> {
+            AiSkillProfile landed = cacheService.getProfile(hash);
+            if (landed != null)
+                return CompletableFuture.completedFuture(landed);
+            return analyzeSkillsWithAiAsync(jd, resume).thenApply(fresh -> {
+                if (fresh != null) {
+                    cacheService.putProfile(hash, fresh);
+                }
+                return fresh;
+            });
+        });
     }
 
     public AiSkillProfile analyzeSkillsWithAi(String jd, String resume) {
+        return analyzeSkillsWithAiAsync(jd, resume).join();
+    }
+
+    /**
+     * Skill extraction and RAG run on the calling thread; the Groq call does
+     * not hold it. Completes with null at once while Groq's circuit is open.
+     */
+    public CompletableFuture<AiSkillProfile> analyzeSkillsWithAiAsync(String jd, String resume) {
+        if (!groqClient.isAvailable()) {
+            log.warn("🔌 Groq unavailable, skipping AI skill analysis");
+            return CompletableFuture.completedFuture(null);
+        }
         List<String> extractedJdSkills = extractSkills(jd);
         List<CsvSnippetLoader.Snippets> snippets = ragService.getRagContextOptimized(new HashSet<>(extractedJdSkills),
                 jd);
@@ -59,8 +91,11 @@ public class SkillAnalysisService {
                 .collect(Collectors.joining("\n\n"));
 
         String prompt = promptBuilder.buildSkillAnalysisPrompt(context, jd, resume);
-        String raw = groqClient.callGroq(prompt, GroqClient.QueryComplexity.POWERFUL);
+        return groqClient.callGroqAsync(prompt, GroqClient.QueryComplexity.POWERFUL, GroqClient.Priority.BATCH)
+                .thenApply(this::toProfile);
+    }
 
+    private AiSkillProfile toProfile(String raw) {
         if (raw == null)
             return null;
 
@@ -101,11 +136,59 @@ public class SkillAnalysisService {
         }
     }
 
+    /**
+     * Profile built without Groq, for when AI analysis is unavailable: every
+     * skill.csv skill the JD names counts as required (and mandatory), and
+     * each is matched or missing depending on whether the resume names it too.
+     * It is not cached, so the next request after Groq recovers gets the full
+     * analysis.
+     */
+    public AiSkillProfile ruleBasedProfile(String jd, String resume) {
+        List<String> jdSkills = standardizeAndFilter(csvDataService.extractSkillNames(jd));
+        List<String> resumeSkills = standardizeAndFilter(csvDataService.extractSkillNames(resume));
+
+        Set<String> have = resumeSkills.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String skill : jdSkills) {
+            if (have.contains(skill.toLowerCase()))
+                matched.add(skill);
+            else
+                missing.add(skill);
+        }
+
+        AiSkillProfile p = new AiSkillProfile();
+        p.setJdRequiredSkills(jdSkills);
+        p.setMandatorySkills(new ArrayList<>(jdSkills));
+        p.setStrongSkills(resumeSkills);
+        p.setMatchedSkills(matched);
+        p.setMissingSkills(missing);
+        p.setSummary("AI analysis is temporarily unavailable, so this score is based on skill matching only.");
+        p.setStrength(matched.isEmpty() ? ""
+                : "Your resume covers " + matched.size() + " of the " + jdSkills.size()
+                        + " skills named in the job description.");
+        p.setImprovementArea(missing.isEmpty() ? "" : "Not found in your resume: " + String.join(", ", missing) + ".");
+        p.setRecommendation("Try again in a few minutes for a detailed AI review.");
+        return p;
+    }
+
+    /**
+     * Canonical skills mentioned in the text. In "local" mode (default) this is
+     * a dictionary scan over skills.csv names, keywords and aliases; "llm" asks
+     * Groq for a list first and keeps only what the taxonomy knows.
+     */
     public List<String> extractSkills(String text) {
         if (text == null || text.isBlank())
             return new ArrayList<>();
+        if (!"llm".equalsIgnoreCase(extractionMode)) {
+            return csvDataService.extractSkillNames(text).stream()
+                    .filter(this::isNotNoise)
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+
         String prompt = promptBuilder.buildSkillExtractionPrompt(text);
-        String raw = groqClient.callGroq(prompt, GroqClient.QueryComplexity.BALANCED);
+        String raw = groqClient.callGroq(prompt, GroqClient.QueryComplexity.BALANCED, GroqClient.Priority.BATCH);
 
         if (raw == null || raw.isBlank())
             return new ArrayList<>();
@@ -136,73 +219,21 @@ public class SkillAnalysisService {
     }
 
     private boolean isNotNoise(String s) {
-        String lower = s.toLowerCase();
-        return !lower.contains("backend development") &&
-                !lower.contains("backend developer") &&
-                !lower.contains("frontend development") &&
-                !lower.contains("frontend developer") &&
-                !lower.contains("software engineer") &&
-                !lower.contains("software engineering") &&
-                !lower.contains("junior developer") &&
-                !lower.contains("senior developer") &&
-                !lower.contains("entry level") &&
-                !lower.contains("full stack") &&
-                !lower.contains("web development") &&
-                !lower.contains("analyze different job") &&
-                !lower.contains("cover letter generator") &&
-                !lower.contains("resume guide") &&
-                !lower.contains("roadmap") &&
-                !lower.contains("bakenddevloper") &&
-                !lower.contains("job description") &&
-                !lower.contains("resume analysis") &&
-                !lower.contains("ats score") &&
-                !lower.contains("skill gaps") &&
-                !lower.contains("matched skills") &&
-                !lower.contains("pro tips") &&
-                !lower.contains("resume") &&
-                !lower.contains("candidate") &&
-                !lower.contains("learning tips") &&
-                !lower.contains("formatting tips") &&
-                !lower.contains("industry standard") &&
-                !lower.contains("overall job fit") &&
-                !lower.contains("analysis complete") &&
-                !lower.contains("match summary") &&
-                !lower.contains("critical gap") &&
-                !lower.contains("strategic recommendation") &&
-                !lower.contains("score") &&
-                !lower.contains("summary") &&
-                !lower.contains("strength") &&
-                !lower.contains("goal") &&
-                !lower.contains("expert tip") &&
-                lower.length() >= 2;
+        return !noiseFilter.isNoise(s);
     }
 
     public String professionalize(String text) {
         if (text == null || text.isBlank())
             return "";
-        String cleaned = text.replaceAll(
-                "(?i)(job description|resume analysis|ats score|skill gaps|matched skills|pro tips|learning tips|formatting tips|industry standard|overall job fit|analysis complete|match summary|critical gap|strategic recommendation|expert tip|tip \\d+:?|summary:?|strength:?|goal:?|roadmap|bakenddevloper)",
-                "")
-                .replaceAll("(?m)[ \\t]{2,}", " ")
-                .replaceAll("\\n{3,}", "\n\n")
-                .trim();
-
-        if (cleaned.isEmpty())
-            return "";
-
-        char[] chars = cleaned.toCharArray();
-        for (int i = 0; i < chars.length; i++) {
-            if (Character.isLetter(chars[i])) {
-                chars[i] = Character.toUpperCase(chars[i]);
-                break;
-            }
-        }
-        cleaned = new String(chars);
+        ProfessionalizeFilter filter = professionalizer();
+        return filter.accept(text) + filter.finish();
+    }
 
-        if (!cleaned.endsWith(".") && !cleaned.endsWith("!") && !cleaned.endsWith("?")) {
-            cleaned += ".";
-        }
-        return cleaned;
+    /**
+     * professionalize() for streamed text, one filter per stream.
+     */
+    public ProfessionalizeFilter professionalizer() {
+        return new ProfessionalizeFilter(noiseFilter);
     }
 
     public List<String> professionalizeList(List<String> list) {
@@ -233,10 +264,18 @@ public class SkillAnalysisService {
     }
 
     public JobRequirements parseJobRequirements(String jdText) {
+        return parseJobRequirementsAsync(jdText).join();
+    }
+
+    public CompletableFuture<JobRequirements> parseJobRequirementsAsync(String jdText) {
         if (jdText == null || jdText.isBlank())
-            return new JobRequirements();
+            return CompletableFuture.completedFuture(new JobRequirements());
         String prompt = promptBuilder.buildJobRequirementsPrompt(jdText);
-        String raw = groqClient.callGroq(prompt, GroqClient.QueryComplexity.BALANCED);
+        return groqClient.callGroqAsync(prompt, GroqClient.QueryComplexity.BALANCED, GroqClient.Priority.BATCH)
+                .thenApply(this::toJobRequirements);
+    }
+
+    private JobRequirements toJobRequirements(String raw) {
         if (raw == null)
             return new JobRequirements();
 
@@ -0,0 +1,221 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * SkillDictionaryMatcher
+ *
+ * Aho-Corasick automaton over a fixed dictionary of lowercase terms (skill
+ * names and keywords). One linear scan of the input reports every dictionary
+ * term that occurs as a whole word, with its offsets, regardless of how many
+ * terms the dictionary holds.
+ *
+ * A hit counts as a whole word when the characters just before and after it
+ * are not word characters ([A-Za-z0-9_]). Unlike a regex \b, this also lets
+ * terms such as "c++" or ".net" match when surrounded by spaces.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class SkillDictionaryMatcher {
+
+    /**
+     * A dictionary hit: the matched term, the value it maps to, and its
+     * [start, end) offsets in the scanned text.
+     */
+    public record Match(String term, String value, int start, int end) {
+    }
+
+    private final String[] terms;
+    private final String[] values;
+
+    // Dense DFA over the dictionary's alphabet: next[state * alphabetSize + cls]
+    private final int[] charClass = new int[128];
+    private final int alphabetSize;
+    private final int[] next;
+    private final int[][] outputs;
+
+    /**
+     * @param dictionary term -> value (e.g. keyword -> skill id); terms are
+     *                   lowercased, blank terms are ignored
+     */
+    public SkillDictionaryMatcher(Map<String, String> dictionary) {
+        Map<String, String> clean = new LinkedHashMap<>();
+        dictionary.forEach((term, value) -> {
+            if (term != null && !term.isBlank())
+                clean.putIfAbsent(term.trim().toLowerCase(), value);
+        });
+        this.terms = clean.keySet().toArray(new String[0]);
+        this.values = clean.values().toArray(new String[0]);
+
+        // 1. Alphabet: only characters that appear in some term get a column
+        Arrays.fill(charClass, -1);
+        int classes = 0;
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (c < 128 && charClass[c] < 0)
+                    charClass[c] = classes++;
+            }
+        }
+        this.alphabetSize = Math.max(classes, 1);
+
+        // 2. Trie (goto function)
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(newRow());
+        out.add(new ArrayList<>());
+        for (int t = 0; t < terms.length; t++) {
+            String term = terms[t];
+            int state = 0;
+            boolean indexable = true;
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (c >= 128) {
+                    // Non-ASCII terms are not indexed; the taxonomy is ASCII today
+                    indexable = false;
+                    break;
+                }
+                int cls = charClass[c];
+                int child = trie.get(state)[cls];
+                if (child < 0) {
+                    child = trie.size();
+                    trie.get(state)[cls] = child;
+                    trie.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                state = child;
+            }
+            if (indexable)
+                out.get(state).add(t);
+        }
+
+        // 3. Failure links (BFS), folded into a full transition table
+        int states = trie.size();
+        int[] fail = new int[states];
+        this.next = new int[states * alphabetSize];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < alphabetSize; cls++) {
+            int child = trie.get(0)[cls];
+            if (child > 0) {
+                fail[child] = 0;
+                next[cls] = child;
+                queue.add(child);
+            } else {
+                next[cls] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                int child = trie.get(state)[cls];
+                if (child > 0) {
+                    fail[child] = next[fail[state] * alphabetSize + cls];
+                    next[state * alphabetSize + cls] = child;
+                    queue.add(child);
+                } else {
+                    next[state * alphabetSize + cls] = next[fail[state] * alphabetSize + cls];
+                }
+            }
+        }
+
+        this.outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            outputs[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Scans {@code text} once and returns every whole-word dictionary hit in
+     * order of end offset. Overlapping hits (e.g. "spring" and "spring boot") are
+     * all reported.
+     */
+    public List<Match> findAll(CharSequence text) {
+        return findAll(text, true);
+    }
+
+    /**
+     * As {@link #findAll(CharSequence)}, optionally reporting hits embedded in
+     * longer words too (plain substring semantics).
+     */
+    public List<Match> findAll(CharSequence text, boolean wholeWordsOnly) {
+        if (text == null || text.length() == 0 || terms.length == 0)
+            return Collections.emptyList();
+
+        List<Match> matches = new ArrayList<>();
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int cls = c < 128 ? charClass[c] : -1;
+            state = cls < 0 ? 0 : next[state * alphabetSize + cls];
+
+            for (int t : outputs[state]) {
+                int start = i - terms[t].length() + 1;
+                boolean leftOk = !wholeWordsOnly || start == 0 || !isWordChar(text.charAt(start - 1));
+                boolean rightOk = !wholeWordsOnly || i + 1 == length || !isWordChar(text.charAt(i + 1));
+                if (leftOk && rightOk) {
+                    matches.add(new Match(terms[t], values[t], start, i + 1));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Distinct matched values in order of first occurrence.
+     */
+    public List<String> findValues(CharSequence text) {
+        Map<String, Boolean> seen = new LinkedHashMap<>();
+        for (Match m : findAll(text)) {
+            seen.putIfAbsent(m.value(), Boolean.TRUE);
+        }
+        return new ArrayList<>(seen.keySet());
+    }
+
+    /**
+     * Value of the longest term contained anywhere in {@code text} (substring
+     * semantics); ties go to the earliest hit, then the alphabetically first
+     * term. Null if nothing matches.
+     */
+    public String findLongestValue(CharSequence text) {
+        Match best = null;
+        for (Match m : findAll(text, false)) {
+            if (best == null || m.term().length() > best.term().length()
+                    || (m.term().length() == best.term().length()
+                            && (m.start() < best.start()
+                                    || (m.start() == best.start() && m.term().compareTo(best.term()) < 0)))) {
+                best = m;
+            }
+        }
+        return best != null ? best.value() : null;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public int maxTermLength() {
+        int max = 0;
+        for (String term : terms)
+            max = Math.max(max, term.length());
+        return max;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
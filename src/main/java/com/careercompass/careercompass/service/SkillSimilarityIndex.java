@@ -0,0 +1,111 @@
+package com.careercompass.careercompass.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SkillSimilarityIndex
+ *
+ * Sparse skill-to-skill neighbour table for the skills.csv taxonomy. For each
+ * canonical skill it keeps only the skills whose cosine similarity clears the
+ * semantic bridge threshold, so MatchService can answer "does X cover Y" with
+ * a hash lookup instead of a vector comparison per request.
+ *
+ * Built from cached taxonomy embeddings; call {@link #rebuild()} whenever those
+ * change (EmbeddingWarmupService does this after each warm-up).
+ */
+@Service
+public class SkillSimilarityIndex {
+    private static final Logger log = LoggerFactory.getLogger(SkillSimilarityIndex.class);
+
+    // Lowest threshold MatchService bridges on (checkCorrelatedSkillMatch)
+    public static final double MIN_BRIDGE_SIMILARITY = 0.80;
+
+    private final EmbeddingService embeddingService;
+    private final CsvDataService csvDataService;
+
+    // skill -> (neighbour -> similarity), only pairs >= MIN_BRIDGE_SIMILARITY
+    private volatile Map<String, Map<String, Double>> neighbours = Collections.emptyMap();
+
+    public SkillSimilarityIndex(EmbeddingService embeddingService, CsvDataService csvDataService) {
+        this.embeddingService = embeddingService;
+        this.csvDataService = csvDataService;
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+
+        List<String> names = new ArrayList<>(csvDataService.getAllSkillNames());
+        Map<String, Embedding> vectors = embeddingService.batchGenerateEmbeddings(names);
+
+        List<String> skills = new ArrayList<>();
+        List<Embedding> embeddings = new ArrayList<>();
+        for (String name : names) {
+            Embedding e = vectors.get(name.trim());
+            if (e != null && !e.isEmpty()) {
+                skills.add(name.trim().toLowerCase());
+                embeddings.add(e);
+            }
+        }
+
+        Map<String, Map<String, Double>> table = new HashMap<>();
+        for (String skill : skills) {
+            table.put(skill, new HashMap<>());
+        }
+
+        int pairs = 0;
+        for (int i = 0; i < skills.size(); i++) {
+            Embedding a = embeddings.get(i);
+            for (int j = i + 1; j < skills.size(); j++) {
+                double sim = a.cosine(embeddings.get(j));
+                if (sim >= MIN_BRIDGE_SIMILARITY) {
+                    table.get(skills.get(i)).put(skills.get(j), sim);
+                    table.get(skills.get(j)).put(skills.get(i), sim);
+                    pairs++;
+                }
+            }
+        }
+
+        Map<String, Map<String, Double>> frozen = new HashMap<>();
+        table.forEach((skill, n) -> frozen.put(skill, Map.copyOf(n)));
+        neighbours = Collections.unmodifiableMap(frozen);
+
+        log.info("🧭 Skill similarity index rebuilt: {} skills, {} bridge pairs in {} ms", skills.size(), pairs,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * True if the skill (lowercase canonical name) has a row in the table.
+     */
+    public boolean isIndexed(String skill) {
+        return skill != null && neighbours.containsKey(skill);
+    }
+
+    /**
+     * Precomputed similarity between two indexed skills: 1.0 for the same skill,
+     * the stored score if they are bridge neighbours, otherwise 0.0.
+     */
+    public double similarity(String a, String b) {
+        if (a.equals(b))
+            return 1.0;
+        Map<String, Double> row = neighbours.get(a);
+        if (row == null)
+            return 0.0;
+        return row.getOrDefault(b, 0.0);
+    }
+
+    public Map<String, Double> getNeighbours(String skill) {
+        return neighbours.getOrDefault(skill, Collections.emptyMap());
+    }
+
+    public int size() {
+        return neighbours.size();
+    }
+}
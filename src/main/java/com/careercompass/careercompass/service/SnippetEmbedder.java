@@ -0,0 +1,112 @@
+package com.careercompass.careercompass.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SnippetEmbedder
+ *
+ * Embeds knowledge snippets for the in-process vector stores. Snippet vectors
+ * are kept in their own EmbeddingStore file (the shared one only persists
+ * short terms), so after the first run the local index rebuilds from disk
+ * without calling Gemini.
+ */
+@Service
+public class SnippetEmbedder {
+    private static final Logger log = LoggerFactory.getLogger(SnippetEmbedder.class);
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final EmbeddingService embeddingService;
+    private final EmbeddingStore snippetVectors;
+
+    public SnippetEmbedder(EmbeddingService embeddingService,
+            @Value("${vector.local.snippet-store:.embedding-store/snippets.bin}") String path,
+            @Value("${embedding.store.enabled:true}") boolean enabled,
+            @Value("${gemini.embedding.model:text-embedding-004}") String model,
+            @Value("${embedding.store.max-bytes:1073741824}") long maxBytes) {
+        this.embeddingService = embeddingService;
+        this.snippetVectors = new EmbeddingStore(path, enabled, model, maxBytes);
+    }
+
+    @PostConstruct
+    public void open() {
+        snippetVectors.open();
+    }
+
+    @PreDestroy
+    public void close() {
+        snippetVectors.close();
+    }
+
+    /**
+     * Snippet id -> vector. Snippets that could not be embedded are left out.
+     */
+    public Map<String, Embedding> embed(List<CsvSnippetLoader.Snippets> snippets) {
+        Map<String, Embedding> result = new LinkedHashMap<>();
+        List<CsvSnippetLoader.Snippets> missing = new ArrayList<>();
+
+        for (CsvSnippetLoader.Snippets snippet : snippets) {
+            Embedding stored = snippetVectors.get(VectorStore.embeddingText(snippet));
+            if (stored != null) {
+                result.put(snippet.getId(), stored);
+            } else {
+                missing.add(snippet);
+            }
+        }
+
+        for (int i = 0; i < missing.size(); i += CHUNK_SIZE) {
+            List<CsvSnippetLoader.Snippets> chunk = missing.subList(i, Math.min(i + CHUNK_SIZE, missing.size()));
+            List<String> texts = new ArrayList<>();
+            for (CsvSnippetLoader.Snippets snippet : chunk) {
+                texts.add(VectorStore.embeddingText(snippet));
+            }
+
+            Map<String, Embedding> fresh = embeddingService.batchGenerateEmbeddings(texts);
+            for (CsvSnippetLoader.Snippets snippet : chunk) {
+                String text = VectorStore.embeddingText(snippet);
+                Embedding e = fresh.get(text.trim());
+                if (e != null && !e.isEmpty()) {
+                    snippetVectors.put(text, e);
+                    result.put(snippet.getId(), e);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            int stored = snippets.size() - missing.size();
+            log.info("🧮 Snippet vectors: {} from local store, {} embedded, {} failed", stored,
+                    result.size() - stored, snippets.size() - result.size());
+        }
+        return result;
+    }
+
+    /**
+     * The snippet's vector from the local store (memory-mapped, off-heap), or
+     * null if it was never embedded or the store is disabled.
+     */
+    public Embedding stored(CsvSnippetLoader.Snippets snippet) {
+        return snippetVectors.get(VectorStore.embeddingText(snippet));
+    }
+
+    public Embedding embedQuery(String query) {
+        return embeddingService.generateEmbedding(query);
+    }
+
+    /**
+     * Query vectors aligned with {@code queries} from a single batch request
+     * (cached ones are not re-sent); null where a query could not be embedded.
+     */
+    public List<Embedding> embedQueries(List<String> queries) {
+        return embeddingService.batchGenerateAligned(queries);
+    }
+}
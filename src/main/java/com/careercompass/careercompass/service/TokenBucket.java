@@ -0,0 +1,50 @@
+package com.careercompass.careercompass.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenBucket
+ *
+ * Blocking rate limiter: refills {@code ratePerSecond} permits per second up
+ * to {@code burst}, and acquire() waits only as long as the next permit
+ * needs. Unlike a fixed sleep between calls, idle time is credited and
+ * concurrent callers share one budget. A rate of 0 or less disables limiting.
+ */
+public final class TokenBucket {
+
+    private final double ratePerNano;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes one permit, sleeping until it is available.
+     */
+    public void acquire() throws InterruptedException {
+        if (ratePerNano <= 0)
+            return;
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            // A negative balance is a reservation: this caller waits out its share
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / ratePerNano);
+        }
+        if (waitNanos > 0)
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
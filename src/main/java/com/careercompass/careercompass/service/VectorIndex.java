@@ -0,0 +1,60 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * VectorIndex
+ *
+ * In-memory cosine index over dense int ids (assigned in insertion order),
+ * used by the local VectorStore backends. Implementations normalize vectors on
+ * insert and are safe for concurrent search while being extended.
+ */
+public interface VectorIndex {
+
+    /**
+     * A search hit: node id and cosine similarity to the query.
+     */
+    record Hit(int id, float score) {
+    }
+
+    /**
+     * Inserts a vector and returns its id.
+     */
+    int add(float[] vector);
+
+    /**
+     * Excludes an id from future results.
+     */
+    void delete(int id);
+
+    /**
+     * Up to {@code k} live ids accepted by {@code filter}, best first.
+     */
+    List<Hit> search(float[] query, int k, IntPredicate filter);
+
+    /**
+     * One top-K list per query, in query order (empty for a null query). The default runs the queries
+     * one after another; scan-based indexes override it to score every query
+     * against a row while that row is in cache.
+     */
+    default List<List<Hit>> searchBatch(float[][] queries, int k, IntPredicate filter) {
+        List<List<Hit>> results = new ArrayList<>(queries.length);
+        for (float[] query : queries)
+            results.add(query == null ? List.of() : search(query, k, filter));
+        return results;
+    }
+
+    /**
+     * Live (not deleted) entry count.
+     */
+    int size();
+
+    int dimension();
+
+    /**
+     * Approximate heap held by the stored vectors (and graph links, if any).
+     */
+    long memoryBytes();
+}
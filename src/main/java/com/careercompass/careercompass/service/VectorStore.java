@@ -0,0 +1,169 @@
+package com.careercompass.careercompass.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * VectorStore
+ *
+ * Snippet index used for RAG. Implementations:
+ * - PineconeVectorService (vector.store.type=pinecone, default)
+ * - HnswVectorStore (vector.store.type=hnsw): in-process, works offline once
+ * snippet vectors are cached locally
+ * - FlatVectorStore (vector.store.type=flat): in-process exact scan
+ *
+ * Searches take a SearchFilter that each backend applies before ranking, so
+ * callers ask for exactly as many hits as they keep.
+ */
+public interface VectorStore {
+
+    /**
+     * Text that is embedded for a snippet; identical across backends so
+     * cached vectors can be shared.
+     */
+    static String embeddingText(CsvSnippetLoader.Snippets snippet) {
+        return snippet.getTopic() + " " + snippet.getAdviceText();
+    }
+
+    /**
+     * Adds or replaces snippets (by id).
+     */
+    void upsertSnippetsBatch(List<CsvSnippetLoader.Snippets> snippets);
+
+    /**
+     * Adds or replaces snippets whose vectors the caller already computed
+     * (snippet id -> vector); snippets without a vector are skipped. Used by
+     * IngestionPipeline, which embeds in its own stage.
+     */
+    void upsertEmbedded(List<CsvSnippetLoader.Snippets> snippets, Map<String, Embedding> vectors);
+
+    /**
+     * Removes snippets by id; unknown ids are ignored.
+     */
+    void deleteSnippets(Collection<String> ids);
+
+    /**
+     * Top-K snippets matching the filter by cosine similarity to the query, best
+     * first. Returns an empty list (never throws) if the query cannot be
+     * embedded or the backend is unavailable.
+     */
+    List<ScoredSnippet> semanticSearch(String query, int topK, SearchFilter filter);
+
+    default List<ScoredSnippet> semanticSearch(String query, int topK) {
+        return semanticSearch(query, topK, SearchFilter.NONE);
+    }
+
+    /**
+     * One top-K list per query, in query order, each ranked against its own
+     * query vector. Backends embed the queries in one batch request and search
+     * them together (in-process) or concurrently (remote); a query that cannot
+     * be answered gets an empty list. The default searches one by one.
+     */
+    default List<List<ScoredSnippet>> semanticSearchBatch(List<String> queries, int topK, SearchFilter filter) {
+        List<List<ScoredSnippet>> results = new ArrayList<>(queries.size());
+        for (String query : queries)
+            results.add(semanticSearch(query, topK, filter));
+        return results;
+    }
+
+    /**
+     * False while the backend (or the embedding service its queries need) is
+     * known to be down, so callers can skip vector search and answer from BM25
+     * alone. Local stores are always available.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    boolean isIndexEmpty();
+
+    void logIndexStats();
+
+    /**
+     * Restricts a search to snippets in any of {@code categories} and carrying
+     * any of {@code keywords} (empty = no restriction, case-insensitive), scoring
+     * at least {@code minScore}.
+     */
+    record SearchFilter(Set<String> categories, Set<String> keywords, double minScore) {
+
+        public static final SearchFilter NONE = new SearchFilter(Set.of(), Set.of(), Double.NEGATIVE_INFINITY);
+
+        public SearchFilter {
+            categories = normalize(categories);
+            keywords = normalize(keywords);
+        }
+
+        public static SearchFilter minScore(double minScore) {
+            return new SearchFilter(Set.of(), Set.of(), minScore);
+        }
+
+        public SearchFilter withCategories(Collection<String> categories) {
+            return new SearchFilter(Set.copyOf(categories), keywords, minScore);
+        }
+
+        public SearchFilter withKeywords(Collection<String> keywords) {
+            return new SearchFilter(categories, Set.copyOf(keywords), minScore);
+        }
+
+        public boolean hasMetadataFilter() {
+            return !categories.isEmpty() || !keywords.isEmpty();
+        }
+
+        /**
+         * Metadata check for in-process backends (score is checked separately).
+         */
+        public boolean matches(CsvSnippetLoader.Snippets snippet) {
+            if (!categories.isEmpty()
+                    && (snippet.getCategory() == null || !categories.contains(key(snippet.getCategory()))))
+                return false;
+            if (keywords.isEmpty())
+                return true;
+            if (snippet.getKeywords() == null)
+                return false;
+            for (String kw : snippet.getKeywords()) {
+                if (kw != null && keywords.contains(key(kw)))
+                    return true;
+            }
+            return false;
+        }
+
+        public static String key(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static Set<String> normalize(Set<String> values) {
+            if (values == null || values.isEmpty())
+                return Set.of();
+            return values.stream()
+                    .filter(v -> v != null && !v.isBlank())
+                    .map(SearchFilter::key)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    /**
+     * Helper class to hold snippet with similarity score
+     */
+    class ScoredSnippet {
+        private final CsvSnippetLoader.Snippets snippet;
+        private final double score;
+
+        public ScoredSnippet(CsvSnippetLoader.Snippets snippet, double score) {
+            this.snippet = snippet;
+            this.score = score;
+        }
+
+        public CsvSnippetLoader.Snippets getSnippet() {
+            return snippet;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.careercompass.careercompass.service;
+
+import com.careercompass.careercompass.exception.ExternalServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * VectorStoreBenchmark
+ *
+ * Measures the active VectorStore (Pinecone, HNSW, ...) against an exact
+ * FlatVectorIndex over the same knowledge base: recall@k and per-query
+ * latency. Queries are snippet topics sampled evenly from the corpus and are
+ * embedded before timing starts, so only the search itself is measured.
+ */
+@Service
+public class VectorStoreBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(VectorStoreBenchmark.class);
+
+    private final VectorStore vectorStore;
+    private final SnippetEmbedder embedder;
+    private final CsvSnippetLoader csvSnippetLoader;
+
+    public VectorStoreBenchmark(VectorStore vectorStore, SnippetEmbedder embedder,
+            CsvSnippetLoader csvSnippetLoader) {
+        this.vectorStore = vectorStore;
+        this.embedder = embedder;
+        this.csvSnippetLoader = csvSnippetLoader;
+    }
+
+    public Map<String, Object> run(int k, int queryCount) {
+        List<CsvSnippetLoader.Snippets> snippets = csvSnippetLoader.loadKnowledgeBase();
+        Map<String, Embedding> vectors = embedder.embed(snippets);
+        if (vectors.isEmpty())
+            throw new ExternalServiceException("Gemini Embedding",
+                    "no snippet vectors available for the exact baseline");
+
+        // Exact baseline over the same snippets
+        FlatVectorIndex exact = new FlatVectorIndex(vectors.values().iterator().next().dimension());
+        List<String> rowToId = new ArrayList<>();
+        for (CsvSnippetLoader.Snippets snippet : snippets) {
+            Embedding e = vectors.get(snippet.getId());
+            if (e != null && e.dimension() == exact.dimension()) {
+                exact.add(e.values());
+                rowToId.add(snippet.getId());
+            }
+        }
+
+        List<String> queries = new ArrayList<>();
+        int step = Math.max(1, snippets.size() / Math.max(1, queryCount));
+        for (int i = 0; i < snippets.size() && queries.size() < queryCount; i += step) {
+            queries.add(snippets.get(i).getTopic());
+        }
+
+        long[] activeNanos = new long[queries.size()];
+        long[] exactNanos = new long[queries.size()];
+        int measured = 0;
+        int found = 0;
+        int expected = 0;
+        for (String query : queries) {
+            Embedding q = embedder.embedQuery(query); // warm the query cache for both sides
+            if (q.isEmpty())
+                continue;
+
+            long start = System.nanoTime();
+            List<VectorStore.ScoredSnippet> hits = vectorStore.semanticSearch(query, k);
+            activeNanos[measured] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<VectorIndex.Hit> truth = exact.search(q.values(), k, row -> true);
+            exactNanos[measured] = System.nanoTime() - start;
+            measured++;
+
+            Set<String> truthIds = new HashSet<>();
+            truth.forEach(h -> truthIds.add(rowToId.get(h.id())));
+            for (VectorStore.ScoredSnippet hit : hits) {
+                if (truthIds.contains(hit.getSnippet().getId()))
+                    found++;
+            }
+            expected += truthIds.size();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("store", vectorStore.getClass().getSimpleName());
+        report.put("k", k);
+        report.put("queries", measured);
+        report.put("corpus", exact.size());
+        report.put("recallAtK", expected == 0 ? 0.0 : found / (double) expected);
+        report.put("storeLatencyMs", latency(Arrays.copyOf(activeNanos, measured)));
+        report.put("exactLatencyMs", latency(Arrays.copyOf(exactNanos, measured)));
+        log.info("📏 Vector store benchmark: {}", report);
+        return report;
+    }
+
+    private static Map<String, Double> latency(long[] nanos) {
+        long[] sorted = nanos;
+        Arrays.sort(sorted);
+        Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("p50", percentile(sorted, 0.50));
+        stats.put("p95", percentile(sorted, 0.95));
+        stats.put("max", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        return stats;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0.0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -2,7 +2,7 @@ package com.careercompass.careercompass.controller;
 
 import com.careercompass.careercompass.dto.AnalysisRequest;
 import com.careercompass.careercompass.dto.AnalysisResponse;
-import com.careercompass.careercompass.service.GroqAi;
+import com.careercompass.careercompass.service.CareerChatService;
 import com.careercompass.careercompass.service.MatchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -32,7 +32,7 @@ public class MatchControllerTest {
     private MatchService matchService;
 
     @MockBean
-    private GroqAi groqAi;
+    private CareerChatService chatService;
 
     @Autowired
     private ObjectMapper objectMapper;
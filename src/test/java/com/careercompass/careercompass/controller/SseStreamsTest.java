@@ -0,0 +1,60 @@
+package com.careercompass.careercompass.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseStreamsTest {
+
+    private final SseStreams streams = new SseStreams(1, 1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        streams.shutdown();
+    }
+
+    @Test
+    void testStreamIsRefusedWhenPoolAndQueueAreFull() {
+        // One running, one queued
+        streams.stream("answer", "failed", (onToken, cancel) -> awaitRelease());
+        streams.stream("answer", "failed", (onToken, cancel) -> awaitRelease());
+
+        SseEmitter refused = streams.stream("answer", "failed", (onToken, cancel) -> {
+            fail("a refused stream must not run");
+            return null;
+        });
+
+        // Not yet handed to a servlet response, so the emitter keeps what was sent
+        Set<ResponseBodyEmitter.DataWithMediaType> sent = sent(refused);
+        assertTrue(sent.stream().anyMatch(d -> d.getData().toString().contains("event:error")));
+        assertTrue(sent.stream().anyMatch(d -> d.getData() instanceof Map<?, ?> data
+                && data.get("message").toString().contains("Too many answers")));
+        assertEquals(Boolean.TRUE, ReflectionTestUtils.getField(refused, "complete"));
+    }
+
+    private String awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<ResponseBodyEmitter.DataWithMediaType> sent(SseEmitter emitter) {
+        return (Set<ResponseBodyEmitter.DataWithMediaType>) ReflectionTestUtils.getField(emitter,
+                "earlySendAttempts");
+    }
+}
@@ -0,0 +1,38 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+    private final List<CsvSnippetLoader.Snippets> snippets = List.of(
+            snippet("java-1", "HashMap vs Hashtable", "java", "Hashtable is synchronized; HashMap allows null keys."),
+            snippet("java-2", "Java Collections", "java", "Lists, sets and maps such as HashMap and TreeMap."),
+            snippet("cpp-1", "Modern C++", "c++", "Prefer smart pointers and RAII over raw new/delete."),
+            snippet("net-1", "ASP.NET Core", ".net", "Dependency injection is built into .NET."));
+
+    private final Bm25Index index = new Bm25Index(snippets);
+
+    @Test
+    void testSearch_ExactTermsRankTitleMatchFirstWithFullCoverage() {
+        List<Bm25Index.Hit> hits = index.search("HashMap vs Hashtable", 3, doc -> true);
+
+        assertEquals("java-1", snippets.get(hits.get(0).doc()).getId());
+        assertEquals(1.0, hits.get(0).coverage(), 1e-9);
+        assertTrue(hits.get(1).coverage() < 1.0);
+    }
+
+    @Test
+    void testSearch_KeepsSymbolTermsAndAppliesFilter() {
+        assertEquals(List.of("c++", ".net", "node.js"), Bm25Index.tokenize("C++, .NET and Node.js."));
+        assertEquals("cpp-1", snippets.get(index.search("c++", 2, doc -> true).get(0).doc()).getId());
+        assertTrue(index.search("hashmap", 5, doc -> doc != 0 && doc != 1).isEmpty());
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id, String topic, String keyword, String advice) {
+        return new CsvSnippetLoader.Snippets(id, topic, "Technical Skill", List.of(keyword), advice);
+    }
+}
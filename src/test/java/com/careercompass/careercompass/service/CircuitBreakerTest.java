@@ -0,0 +1,99 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    /**
+     * Breaker on a hand-driven clock.
+     */
+    private static final class ManualBreaker extends CircuitBreaker {
+        private long now;
+
+        ManualBreaker(int failureThreshold, long openMs) {
+            super("test", failureThreshold, openMs);
+        }
+
+        void advanceMs(long ms) {
+            now += TimeUnit.MILLISECONDS.toNanos(ms);
+        }
+
+        @Override
+        long now() {
+            return now;
+        }
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailuresAndRejectsFast() {
+        ManualBreaker breaker = new ManualBreaker(3, 1000);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state(), "a success resets the count");
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.isAvailable());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1L, breaker.status().get("rejected"));
+    }
+
+    @Test
+    void testHalfOpenAdmitsOneProbeThatClosesOnSuccess() {
+        ManualBreaker breaker = new ManualBreaker(1, 1000);
+        breaker.onFailure();
+
+        breaker.advanceMs(1000);
+        assertTrue(breaker.isAvailable());
+        assertTrue(breaker.tryAcquire(), "first caller after openMs probes");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire(), "only one probe at a time");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testFailedProbeReopensForAnotherPeriod() {
+        ManualBreaker breaker = new ManualBreaker(1, 1000);
+        breaker.onFailure();
+        breaker.advanceMs(1000);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        breaker.advanceMs(999);
+        assertFalse(breaker.tryAcquire());
+        breaker.advanceMs(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(2L, breaker.status().get("trips"));
+    }
+
+    @Test
+    void testIgnoredOrLostProbeLetsAnotherCallerProbe() {
+        ManualBreaker breaker = new ManualBreaker(1, 1000);
+        breaker.onFailure();
+        breaker.advanceMs(1000);
+        assertTrue(breaker.tryAcquire());
+
+        // e.g. shed by the rate limiter: says nothing about the dependency
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+
+        // A probe that never reports back is replaced after openMs
+        assertFalse(breaker.tryAcquire());
+        breaker.advanceMs(1000);
+        assertTrue(breaker.tryAcquire());
+    }
+}
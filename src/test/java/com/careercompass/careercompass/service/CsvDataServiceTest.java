@@ -0,0 +1,75 @@
+package com.careercompass.careercompass.service;
+
+import com.google.common.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * findSkillId resolution over a small hand-built taxonomy.
+ */
+class CsvDataServiceTest {
+
+    @Test
+    void testFindSkillId_LongestContainedKeywordWinsInAnyOrder() {
+        Map<String, String> shortFirst = new LinkedHashMap<>();
+        shortFirst.put("spring", "skill-spring");
+        shortFirst.put("spring boot", "skill-spring-boot");
+        Map<String, String> longFirst = new LinkedHashMap<>();
+        longFirst.put("spring boot", "skill-spring-boot");
+        longFirst.put("spring", "skill-spring");
+
+        for (Map<String, String> keywords : List.of(shortFirst, longFirst)) {
+            CsvDataService data = withKeywords(keywords);
+            assertEquals("skill-spring-boot", data.findSkillId("Senior Spring Boot developer"));
+            assertEquals("skill-spring", data.findSkillId("spring framework internals"));
+        }
+    }
+
+    @Test
+    void testFindSkillId_MissIsMemoized() {
+        CsvDataService data = withKeywords(Map.of("docker", "skill-docker"));
+
+        assertNull(data.findSkillId("Underwater Basket Weaving"));
+        assertEquals("", resolvedIds(data).getIfPresent("underwater basket weaving"), "miss sentinel");
+
+        // Served from the memo even though the keyword now exists
+        keywords(data).put("basket weaving", "skill-weaving");
+        assertNull(data.findSkillId("underwater basket weaving"));
+    }
+
+    @Test
+    void testBuildSkillMatcher_InvalidatesResolvedIds() {
+        CsvDataService data = withKeywords(Map.of("docker", "skill-docker"));
+        assertNull(data.findSkillId("underwater basket weaving"));
+        assertEquals("skill-docker", data.findSkillId("docker compose"));
+
+        keywords(data).put("basket weaving", "skill-weaving");
+        ReflectionTestUtils.invokeMethod(data, "buildSkillMatcher");
+
+        assertEquals(0, resolvedIds(data).size());
+        assertEquals("skill-weaving", data.findSkillId("underwater basket weaving"));
+    }
+
+    private static CsvDataService withKeywords(Map<String, String> keywords) {
+        CsvDataService data = new CsvDataService();
+        keywords(data).putAll(keywords);
+        ReflectionTestUtils.invokeMethod(data, "buildSkillMatcher");
+        return data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> keywords(CsvDataService data) {
+        return (Map<String, String>) ReflectionTestUtils.getField(data, "keywordToId");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, String> resolvedIds(CsvDataService data) {
+        return (Cache<String, String>) ReflectionTestUtils.getField(data, "resolvedIds");
+    }
+}
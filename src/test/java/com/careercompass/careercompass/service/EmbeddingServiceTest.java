@@ -0,0 +1,164 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EmbeddingService against a local Gemini stand-in so the batch path can
+ * be exercised offline.
+ */
+class EmbeddingServiceTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+
+    // Texts the stub "fails" inside an otherwise successful batch response
+    private volatile Set<String> omitFromBatch = Set.of();
+
+    // Lets concurrent callers pile up behind one single-embed request
+    private volatile long singleDelayMs = 0;
+
+    private HttpServer server;
+    private EmbeddingService embeddingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/models/", this::handle);
+        server.start();
+
+        embeddingService = new EmbeddingService(new CacheService(),
+                new EmbeddingStore("unused", false, "text-embedding-004", 0), new CircuitBreakers(5, 30000));
+        ReflectionTestUtils.setField(embeddingService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(embeddingService, "baseUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testBatchGenerateEmbeddings_UsesSingleBatchRequest() {
+        String suffix = UUID.randomUUID().toString();
+        List<String> texts = List.of("java " + suffix, "spring boot " + suffix, "docker " + suffix);
+
+        Map<String, Embedding> result = embeddingService.batchGenerateEmbeddings(texts);
+
+        assertEquals(3, result.size());
+        assertEquals(1, batchCalls.get(), "All texts should travel in one batchEmbedContents call");
+        assertEquals(0, singleCalls.get());
+        for (String text : texts) {
+            assertEquals(3, result.get(text).dimension());
+        }
+    }
+
+    @Test
+    void testBatchGenerateEmbeddings_RetriesPartialFailuresIndividually() {
+        String suffix = UUID.randomUUID().toString();
+        String failed = "kubernetes " + suffix;
+        omitFromBatch = Set.of(failed);
+
+        Map<String, Embedding> result = embeddingService
+                .batchGenerateEmbeddings(List.of("aws " + suffix, failed));
+
+        assertEquals(2, result.size());
+        assertEquals(1, batchCalls.get());
+        assertEquals(1, singleCalls.get(), "Only the failed item should fall back to embedContent");
+        assertFalse(result.get(failed).isEmpty());
+    }
+
+    @Test
+    void testBatchGenerateEmbeddings_ServesRepeatsFromCache() {
+        String text = "terraform " + UUID.randomUUID();
+
+        embeddingService.batchGenerateEmbeddings(List.of(text));
+        Map<String, Embedding> second = embeddingService.batchGenerateEmbeddings(List.of(text));
+
+        assertEquals(1, second.size());
+        assertEquals(1, batchCalls.get(), "Second lookup should not hit the network");
+    }
+
+    @Test
+    void testGenerateEmbedding_ConcurrentMissesShareOneRequest() throws Exception {
+        String text = "golang " + UUID.randomUUID();
+        singleDelayMs = 200;
+
+        List<CompletableFuture<Embedding>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            calls.add(CompletableFuture.supplyAsync(() -> embeddingService.generateEmbedding(text)));
+
+        Embedding first = calls.get(0).get(5, TimeUnit.SECONDS);
+        assertFalse(first.isEmpty());
+        for (CompletableFuture<Embedding> call : calls)
+            assertArrayEquals(first.values(), call.get(5, TimeUnit.SECONDS).values());
+        assertEquals(1, singleCalls.get(), "Identical in-flight lookups should coalesce");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+
+        StringBuilder body = new StringBuilder();
+        if (path.endsWith(":batchEmbedContents")) {
+            batchCalls.incrementAndGet();
+            body.append("{\"embeddings\":[");
+            JsonNode requests = request.path("requests");
+            for (int i = 0; i < requests.size(); i++) {
+                String text = requests.get(i).path("content").path("parts").get(0).path("text").asText();
+                if (i > 0)
+                    body.append(',');
+                body.append("{\"values\":").append(omitFromBatch.contains(text) ? "[]" : vectorFor(text)).append('}');
+            }
+            body.append("]}");
+        } else {
+            singleCalls.incrementAndGet();
+            sleepQuietly(singleDelayMs);
+            String text = request.path("content").path("parts").get(0).path("text").asText();
+            body.append("{\"embedding\":{\"values\":").append(vectorFor(text)).append("}}");
+        }
+
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String vectorFor(String text) {
+        int h = text.hashCode();
+        return "[" + ((h & 0xff) + 1) + "," + (((h >> 8) & 0xff) + 1) + "," + (((h >> 16) & 0xff) + 1) + "]";
+    }
+}
@@ -0,0 +1,158 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingStoreTest {
+
+    private static final String MODEL = "text-embedding-004";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testVectorsSurviveReopen() {
+        Path file = dir.resolve("embeddings.bin");
+        EmbeddingStore store = open(file, MODEL);
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        store.put("spring boot", Embedding.of(new float[] { 4f, 5f, 6f }));
+
+        // Freshly appended records are readable before a remap
+        assertArrayEquals(new float[] { 4f, 5f, 6f }, store.get("spring boot").values());
+        store.close();
+
+        EmbeddingStore reopened = open(file, MODEL);
+        assertEquals(2, reopened.size());
+        assertArrayEquals(new float[] { 1f, 2f, 3f }, reopened.get("java").values());
+        assertNull(reopened.get("python"));
+        reopened.close();
+    }
+
+    @Test
+    void testModelChangeInvalidatesStore() {
+        Path file = dir.resolve("embeddings.bin");
+        EmbeddingStore store = open(file, MODEL);
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        store.close();
+
+        EmbeddingStore other = open(file, "text-embedding-005");
+        assertEquals(0, other.size());
+        assertNull(other.get("java"));
+        other.close();
+    }
+
+    @Test
+    void testTornTailRecordIsDropped() throws Exception {
+        Path file = dir.resolve("embeddings.bin");
+        EmbeddingStore store = open(file, MODEL);
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        store.close();
+
+        // Simulate a crash midway through the next append
+        Files.write(file, new byte[] { 0, 0, 0, 0, 0, 0, 0, 7, 0, 0 }, StandardOpenOption.APPEND);
+
+        EmbeddingStore reopened = open(file, MODEL);
+        assertEquals(1, reopened.size());
+        reopened.put("docker", Embedding.of(new float[] { 7f, 8f, 9f }));
+        reopened.close();
+
+        EmbeddingStore again = open(file, MODEL);
+        assertEquals(2, again.size());
+        assertArrayEquals(new float[] { 7f, 8f, 9f }, again.get("docker").values());
+        again.close();
+    }
+
+    @Test
+    void testLookupsRacingCloseMissInsteadOfFailing() throws Exception {
+        EmbeddingStore store = open(dir.resolve("embeddings.bin"), MODEL);
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!stop.get()) {
+                    Embedding e = store.get("java");
+                    if (e != null)
+                        assertEquals(3, e.dimension());
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        Thread.sleep(20);
+        store.close();
+        Thread.sleep(20);
+        stop.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertNull(store.get("java"));
+    }
+
+    @Test
+    void testAppendsStopAtTheSizeCap() throws Exception {
+        Path file = dir.resolve("embeddings.bin");
+        EmbeddingStore store = open(file, MODEL, 128);
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        long sizeWithOne = Files.size(file);
+        for (int i = 0; i < 10; i++)
+            store.put("skill " + i, Embedding.of(new float[] { i, i, i }));
+
+        assertTrue(Files.size(file) <= 128);
+        assertArrayEquals(new float[] { 1f, 2f, 3f }, store.get("java").values());
+        assertTrue(store.size() < 11);
+        assertTrue(Files.size(file) > sizeWithOne);
+        store.close();
+
+        EmbeddingStore reopened = open(file, MODEL, 128);
+        assertArrayEquals(new float[] { 1f, 2f, 3f }, reopened.get("java").values());
+        reopened.close();
+    }
+
+    @Test
+    void testFileOverTheCapIsDiscarded() {
+        Path file = dir.resolve("embeddings.bin");
+        EmbeddingStore store = open(file, MODEL);
+        for (int i = 0; i < 10; i++)
+            store.put("skill " + i, Embedding.of(new float[] { i, i, i }));
+        store.close();
+
+        EmbeddingStore smaller = open(file, MODEL, 64);
+        assertEquals(0, smaller.size());
+        smaller.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        assertArrayEquals(new float[] { 1f, 2f, 3f }, smaller.get("java").values());
+        smaller.close();
+    }
+
+    @Test
+    void testUnopenableStoreIsDisabledInsteadOfFailing() throws Exception {
+        // The store path is a directory, so it cannot be opened as a file
+        Path file = Files.createDirectory(dir.resolve("embeddings.bin"));
+        EmbeddingStore store = open(file, MODEL);
+
+        store.put("java", Embedding.of(new float[] { 1f, 2f, 3f }));
+        assertNull(store.get("java"));
+        assertEquals(0, store.size());
+        store.close();
+    }
+
+    private static EmbeddingStore open(Path file, String model) {
+        return open(file, model, Integer.MAX_VALUE);
+    }
+
+    private static EmbeddingStore open(Path file, String model, long maxBytes) {
+        EmbeddingStore store = new EmbeddingStore(file.toString(), true, model, maxBytes);
+        store.open();
+        return store;
+    }
+}
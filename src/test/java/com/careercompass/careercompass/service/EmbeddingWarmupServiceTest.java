@@ -0,0 +1,97 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingWarmupServiceTest {
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private CsvDataService csvDataService;
+
+    @Mock
+    private SkillSimilarityIndex similarityIndex;
+
+    private EmbeddingWarmupService warmup;
+
+    @BeforeEach
+    void setUp() {
+        warmup = new EmbeddingWarmupService(embeddingService, csvDataService, similarityIndex, true);
+    }
+
+    @Test
+    void testWarmUp_CountsEachTermAndRebuildsTheIndex() {
+        when(csvDataService.getAllSkillNames()).thenReturn(new LinkedHashSet<>(List.of("java", "docker")));
+        // " java " collapses onto "java" in the batch result; "k8s" fails to embed
+        when(csvDataService.getAllKeywords()).thenReturn(new LinkedHashSet<>(List.of(" java ", "k8s")));
+        when(embeddingService.batchGenerateEmbeddings(any())).thenReturn(Map.of(
+                "java", Embedding.of(new float[] { 1f, 0f }),
+                "docker", Embedding.of(new float[] { 0f, 1f })));
+        when(similarityIndex.size()).thenReturn(2);
+        assertEquals(EmbeddingWarmupService.State.IDLE, warmup.getState());
+
+        warmup.warmUp();
+
+        Map<String, Object> status = warmup.getStatus();
+        assertEquals(EmbeddingWarmupService.State.COMPLETED, status.get("state"));
+        assertEquals(4, status.get("total"));
+        assertEquals(3, status.get("embedded"));
+        assertEquals(1, status.get("failed"));
+        assertEquals(2, status.get("similarityIndexSkills"));
+
+        InOrder order = inOrder(embeddingService, similarityIndex);
+        order.verify(embeddingService).batchGenerateEmbeddings(any());
+        order.verify(similarityIndex).rebuild();
+    }
+
+    @Test
+    void testWarmUp_SendsOneBatchPerChunk() {
+        Set<String> names = IntStream.range(0, 150).mapToObj(i -> "skill " + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        when(csvDataService.getAllSkillNames()).thenReturn(names);
+        when(csvDataService.getAllKeywords()).thenReturn(Set.of());
+        when(embeddingService.batchGenerateEmbeddings(any())).thenReturn(Map.of());
+
+        warmup.warmUp();
+
+        verify(embeddingService, times(2)).batchGenerateEmbeddings(any());
+        assertEquals(150, warmup.getStatus().get("failed"));
+        assertEquals(0, warmup.getStatus().get("embedded"));
+        // Nothing embedded is still a completed run
+        assertEquals(EmbeddingWarmupService.State.COMPLETED, warmup.getState());
+    }
+
+    @Test
+    void testWarmUp_FailureSkipsTheIndexRebuild() {
+        when(csvDataService.getAllSkillNames()).thenReturn(Set.of("java"));
+        when(csvDataService.getAllKeywords()).thenReturn(Set.of());
+        when(embeddingService.batchGenerateEmbeddings(any())).thenThrow(new IllegalStateException("boom"));
+
+        warmup.warmUp();
+
+        assertEquals(EmbeddingWarmupService.State.FAILED, warmup.getState());
+        verify(similarityIndex, never()).rebuild();
+    }
+}
@@ -0,0 +1,82 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlatVectorIndexTest {
+
+    @Test
+    void testSearch_MatchesSortedExactScores() {
+        Random random = new Random(3);
+        int dim = 37; // not a multiple of the unroll width
+        FlatVectorIndex index = new FlatVectorIndex(dim);
+        List<float[]> data = new ArrayList<>();
+        for (int i = 0; i < 600; i++) { // forces the backing array to grow
+            float[] v = new float[dim];
+            for (int d = 0; d < dim; d++)
+                v[d] = (float) random.nextGaussian();
+            data.add(v);
+            index.add(v);
+        }
+
+        float[] query = data.get(123);
+        List<VectorIndex.Hit> hits = index.search(query, 10, row -> true);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++)
+            expected.add(i);
+        expected.sort(Comparator.comparingDouble(
+                (Integer i) -> Embedding.of(data.get(i)).cosine(Embedding.of(query))).reversed());
+
+        assertEquals(expected.subList(0, 10), hits.stream().map(VectorIndex.Hit::id).toList());
+        assertEquals(1.0f, hits.get(0).score(), 1e-5);
+        for (int i = 1; i < hits.size(); i++)
+            assertTrue(hits.get(i - 1).score() >= hits.get(i).score());
+    }
+
+    @Test
+    void testSearch_AppliesFilterAndDeletes() {
+        FlatVectorIndex index = new FlatVectorIndex(2);
+        index.add(new float[] { 1f, 0f });
+        index.add(new float[] { 0.8f, 0.6f });
+        index.add(new float[] { 0f, 1f });
+
+        index.delete(0);
+        List<VectorIndex.Hit> hits = index.search(new float[] { 1f, 0f }, 5, row -> row != 2);
+
+        assertEquals(1, hits.size());
+        assertEquals(1, hits.get(0).id());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testSearchBatch_MatchesIndividualSearches() {
+        Random random = new Random(5);
+        int dim = 16;
+        FlatVectorIndex index = new FlatVectorIndex(dim);
+        for (int i = 0; i < 200; i++) {
+            float[] v = new float[dim];
+            for (int d = 0; d < dim; d++)
+                v[d] = (float) random.nextGaussian();
+            index.add(v);
+        }
+
+        float[][] queries = new float[3][];
+        queries[0] = new float[dim];
+        queries[0][0] = 1f;
+        queries[2] = new float[dim];
+        queries[2][5] = -1f;
+
+        List<List<VectorIndex.Hit>> batch = index.searchBatch(queries, 5, row -> row % 3 != 0);
+
+        assertEquals(index.search(queries[0], 5, row -> row % 3 != 0), batch.get(0));
+        assertTrue(batch.get(1).isEmpty());
+        assertEquals(index.search(queries[2], 5, row -> row % 3 != 0), batch.get(2));
+    }
+}
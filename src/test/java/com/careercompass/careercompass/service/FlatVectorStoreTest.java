@@ -0,0 +1,67 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FlatVectorStoreTest {
+
+    @Mock
+    private SnippetEmbedder embedder;
+
+    private FlatVectorStore store;
+
+    @BeforeEach
+    void setUp() {
+        List<CsvSnippetLoader.Snippets> snippets = List.of(
+                snippet("java-1", "Java Streams", "Technical Skill", "java|streams"),
+                snippet("java-2", "JVM Tuning", "Technical Skill", "java|jvm"),
+                snippet("soft-1", "Conflict", "Soft Skills & Workplace Behavior", "teamwork"));
+        Map<String, Embedding> vectors = new LinkedHashMap<>();
+        vectors.put("java-1", Embedding.of(new float[] { 1f, 0f }));
+        vectors.put("java-2", Embedding.of(new float[] { 0.6f, 0.8f }));
+        vectors.put("soft-1", Embedding.of(new float[] { 0.9f, 0.1f }));
+        when(embedder.embed(anyList())).thenReturn(vectors);
+
+        store = new FlatVectorStore(embedder, "none", 4);
+        store.upsertSnippetsBatch(snippets);
+        when(embedder.embedQuery("java")).thenReturn(Embedding.of(new float[] { 1f, 0f }));
+    }
+
+    @Test
+    void testSearch_RanksAllSnippetsWithoutFilter() {
+        List<VectorStore.ScoredSnippet> results = store.semanticSearch("java", 3);
+
+        assertEquals(List.of("java-1", "soft-1", "java-2"), ids(results));
+        assertEquals(1.0, results.get(0).getScore(), 1e-6);
+    }
+
+    @Test
+    void testSearch_AppliesKeywordCategoryAndScoreFilters() {
+        assertEquals(List.of("java-1", "java-2"),
+                ids(store.semanticSearch("java", 5, VectorStore.SearchFilter.NONE.withKeywords(List.of("Java")))));
+        assertEquals(List.of("soft-1"), ids(store.semanticSearch("java", 5,
+                VectorStore.SearchFilter.NONE.withCategories(List.of("soft skills & workplace behavior")))));
+        assertEquals(List.of("java-1", "soft-1"),
+                ids(store.semanticSearch("java", 5, VectorStore.SearchFilter.minScore(0.7))));
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id, String topic, String category, String keywords) {
+        return new CsvSnippetLoader.Snippets(id, topic, category, List.of(keywords.split("\\|")), topic + " advice");
+    }
+
+    private static List<String> ids(List<VectorStore.ScoredSnippet> results) {
+        return results.stream().map(r -> r.getSnippet().getId()).toList();
+    }
+}
@@ -0,0 +1,260 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing helpers, plus the retry policy run against a local Groq stand-in.
+ */
+class GroqClientTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // Status per request, in order; 200 once drained
+    private final Deque<Integer> statuses = new ConcurrentLinkedDeque<>();
+
+    // Holds a streamed reply open after its first token until released
+    private final CountDownLatch streamReleased = new CountDownLatch(1);
+
+    private HttpServer server;
+    private CircuitBreakers breakers;
+    private GroqClient groqClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/openai/v1/chat/completions", this::handle);
+        server.start();
+
+        breakers = new CircuitBreakers(5, 30000);
+        groqClient = new GroqClient(new CacheService(), breakers);
+        ReflectionTestUtils.setField(groqClient, "groqApiKey", "test-key");
+        ReflectionTestUtils.setField(groqClient, "groqUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/openai/v1/chat/completions");
+        ReflectionTestUtils.setField(groqClient, "backoffMs", 10L);
+        groqClient.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamReleased.countDown();
+        groqClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void testReadEventStream_EmitsDeltasInOrder() throws Exception {
+        String stream = """
+                data: {"choices":[{"delta":{"role":"assistant","content":""}}]}
+
+                data: {"choices":[{"delta":{"content":"Learn"}}]}
+
+                data: {"choices":[{"delta":{"content":" Docker\\n"}}]}
+
+                data: {"choices":[{"delta":{},"finish_reason":"stop"}]}
+
+                data: [DONE]
+
+                """;
+        List<String> tokens = new ArrayList<>();
+        String full = GroqClient.readEventStream(new BufferedReader(new StringReader(stream)), mapper, tokens::add);
+
+        assertEquals(List.of("Learn", " Docker\n"), tokens);
+        assertEquals("Learn Docker\n", full);
+    }
+
+    @Test
+    void testReadEventStream_ErrorChunkThrows() {
+        String stream = "data: {\"error\":{\"message\":\"rate limited\"}}\n\n";
+        IOException e = assertThrows(IOException.class,
+                () -> GroqClient.readEventStream(new BufferedReader(new StringReader(stream)), mapper, t -> {
+                }));
+        assertTrue(e.getMessage().contains("rate limited"));
+    }
+
+    @Test
+    void testReadContent_FirstChoiceMessage() throws Exception {
+        String body = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"Hi there\"}}]}";
+        assertEquals("Hi there",
+                GroqClient.readContent(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), mapper));
+        assertNull(GroqClient.readContent(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), mapper));
+    }
+
+    @Test
+    void testHttpErrors_OnlyTransientOnesAreRetried() {
+        assertTrue(new GroqClient.GroqHttpException(429).isRetryable());
+        assertTrue(new GroqClient.GroqHttpException(503).isRetryable());
+        assertFalse(new GroqClient.GroqHttpException(401).isRetryable());
+        assertFalse(new GroqClient.GroqHttpException(400).isRetryable());
+    }
+
+    @Test
+    void testCallGroqAsync_ServerErrorIsRetriedUntilItSucceeds() throws Exception {
+        statuses.add(503);
+
+        String reply = groqClient.callGroqAsync("Suggest a skill", GroqClient.QueryComplexity.FAST)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("ok", reply);
+        assertEquals(2, calls.get());
+        assertEquals(0, breakers.groq().status().get("consecutiveFailures"));
+    }
+
+    @Test
+    void testCallGroqAsync_BadRequestIsNotRetried() throws Exception {
+        statuses.add(400);
+
+        String reply = groqClient.callGroqAsync("Suggest a skill", GroqClient.QueryComplexity.FAST)
+                .get(5, TimeUnit.SECONDS);
+
+        assertNull(reply);
+        assertEquals(1, calls.get());
+        assertEquals(0, breakers.groq().status().get("consecutiveFailures"), "a 400 says nothing about Groq");
+    }
+
+    @Test
+    void testCallGroqAsync_ExhaustedRetriesCompleteWithNull() throws Exception {
+        for (int i = 0; i < 5; i++)
+            statuses.add(500);
+
+        CompletableFuture<String> reply = groqClient.callGroqAsync("Suggest a skill",
+                GroqClient.QueryComplexity.FAST);
+
+        assertNull(reply.get(5, TimeUnit.SECONDS));
+        assertFalse(reply.isCompletedExceptionally());
+        assertEquals(3, calls.get());
+        assertEquals(1, breakers.groq().status().get("consecutiveFailures"), "one outcome per logical call");
+    }
+
+    @Test
+    void testStreamGroq_CancelWhileWaitingForAdmission() throws Exception {
+        GroqRateLimiter limiter = (GroqRateLimiter) ReflectionTestUtils.getField(groqClient, "rateLimiter");
+        List<GroqRateLimiter.Permit> held = new ArrayList<>();
+        for (int i = 0; i < (int) limiter.limit(); i++)
+            held.add(limiter.acquire(GroqClient.Priority.BATCH, 1).get(5, TimeUnit.SECONDS));
+        Map<String, Object> limiterBefore = groqClient.getRateLimitStatus();
+        Map<String, Object> breakerBefore = breakers.groq().status();
+
+        CompletableFuture<Void> cancel = new CompletableFuture<>();
+        CompletableFuture<String> result = CompletableFuture
+                .supplyAsync(() -> groqClient.streamGroq("Suggest a skill", GroqClient.QueryComplexity.FAST,
+                        token -> {
+                        }, cancel));
+        awaitTrue(() -> (long) groqClient.getRateLimitStatus().get("queuedInteractive") == 1);
+        cancel.complete(null);
+
+        assertNull(result.get(5, TimeUnit.SECONDS));
+        assertEquals(0, calls.get());
+        assertEquals(limiterBefore, groqClient.getRateLimitStatus());
+        assertEquals(breakerBefore, breakers.groq().status());
+        held.forEach(limiter::onAbandoned);
+    }
+
+    @Test
+    void testStreamGroq_CancelMidStreamAbortsTheCall() throws Exception {
+        Map<String, Object> limiterBefore = groqClient.getRateLimitStatus();
+        Map<String, Object> breakerBefore = breakers.groq().status();
+        CompletableFuture<Void> cancel = new CompletableFuture<>();
+        List<String> tokens = new ArrayList<>();
+
+        CompletableFuture<String> result = CompletableFuture
+                .supplyAsync(() -> groqClient.streamGroq("Suggest a skill", GroqClient.QueryComplexity.FAST,
+                        token -> {
+                            tokens.add(token);
+                            // The client leaves after the first token
+                            cancel.complete(null);
+                        }, cancel));
+
+        assertNull(result.get(5, TimeUnit.SECONDS), "returns without waiting for the stalled reply");
+        assertEquals(List.of("Learn"), tokens);
+        assertEquals(limiterBefore, groqClient.getRateLimitStatus(), "abandoned, not a failure");
+        assertEquals(breakerBefore, breakers.groq().status());
+    }
+
+    @Test
+    void testStreamGroq_CancelEndsTheBackoffEarly() throws Exception {
+        ReflectionTestUtils.setField(groqClient, "backoffMs", 30_000L);
+        statuses.add(503);
+        CompletableFuture<Void> cancel = new CompletableFuture<>();
+
+        CompletableFuture<String> result = CompletableFuture
+                .supplyAsync(() -> groqClient.streamGroq("Suggest a skill", GroqClient.QueryComplexity.FAST,
+                        token -> {
+                        }, cancel));
+        awaitTrue(() -> calls.get() == 1);
+        cancel.complete(null);
+
+        assertNull(result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get(), "no retry after the cancel");
+        assertEquals(0, groqClient.getRateLimitStatus().get("inFlight"));
+        assertEquals(0, breakers.groq().status().get("consecutiveFailures"));
+        assertEquals(CircuitBreaker.State.CLOSED, breakers.groq().state());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+
+        Integer status = statuses.poll();
+        if (status != null && status != 200) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        if ("text/event-stream".equals(exchange.getRequestHeaders().getFirst("Accept"))) {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write("data: {\"choices\":[{\"delta\":{\"content\":\"Learn\"}}]}\n\n"
+                        .getBytes(StandardCharsets.UTF_8));
+                os.flush();
+                streamReleased.await(10, TimeUnit.SECONDS);
+                os.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | InterruptedException e) {
+                // Client hung up
+            }
+            return;
+        }
+        byte[] bytes = "{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"ok\"}}]}"
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
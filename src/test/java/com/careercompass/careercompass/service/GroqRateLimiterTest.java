@@ -0,0 +1,111 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroqRateLimiterTest {
+
+    private static final Map<String, String> NO_HEADERS = Map.of();
+
+    @Test
+    void testParseDuration_GroqResetFormats() {
+        assertEquals(179_560_000_000L, GroqRateLimiter.parseDurationNanos("2m59.56s"));
+        assertEquals(7_660_000_000L, GroqRateLimiter.parseDurationNanos("7.66s"));
+        assertEquals(120_000_000L, GroqRateLimiter.parseDurationNanos("120ms"));
+        assertEquals(5_000_000_000L, GroqRateLimiter.parseDurationNanos("5"), "retry-after is plain seconds");
+        assertEquals(-1, GroqRateLimiter.parseDurationNanos(null));
+        assertEquals(-1, GroqRateLimiter.parseDurationNanos("soon"));
+    }
+
+    @Test
+    void testConcurrencyLimit_AdditiveIncreaseMultiplicativeDecrease() {
+        GroqRateLimiter limiter = new GroqRateLimiter(4, 1, 16, 10, 0);
+
+        limiter.onResponse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join(), 200, NO_HEADERS::get);
+        assertEquals(4.25, limiter.limit(), 1e-9);
+
+        limiter.onResponse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join(), 429,
+                Map.of("retry-after", "0")::get);
+        assertEquals(2.125, limiter.limit(), 1e-9);
+
+        limiter.onFailure(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join());
+        limiter.onFailure(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join());
+        assertEquals(1.0, limiter.limit(), 1e-9, "never below the minimum");
+    }
+
+    @Test
+    void testAbandonedCallFreesSlotWithoutMovingLimit() {
+        GroqRateLimiter limiter = new GroqRateLimiter(1, 1, 16, 10, 0);
+        GroqRateLimiter.Permit held = limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join();
+        CompletableFuture<GroqRateLimiter.Permit> next = limiter.acquire(GroqClient.Priority.INTERACTIVE, 1);
+        assertFalse(next.isDone());
+
+        limiter.onAbandoned(held);
+        assertTrue(next.isDone());
+        assertEquals(1.0, limiter.limit(), 1e-9);
+    }
+
+    @Test
+    void testInteractiveLaneIsAdmittedFirst() {
+        GroqRateLimiter limiter = new GroqRateLimiter(1, 1, 1, 10, 0);
+        GroqRateLimiter.Permit held = limiter.acquire(GroqClient.Priority.BATCH, 1).join();
+
+        CompletableFuture<GroqRateLimiter.Permit> batch = limiter.acquire(GroqClient.Priority.BATCH, 1);
+        CompletableFuture<GroqRateLimiter.Permit> chat = limiter.acquire(GroqClient.Priority.INTERACTIVE, 1);
+        assertFalse(batch.isDone());
+        assertFalse(chat.isDone());
+
+        limiter.onResponse(held, 200, NO_HEADERS::get);
+        assertTrue(chat.isDone(), "chat jumps the batch queue");
+        assertFalse(batch.isDone());
+
+        limiter.onResponse(chat.join(), 200, NO_HEADERS::get);
+        assertTrue(batch.isDone());
+    }
+
+    @Test
+    void testFullQueueRejectsImmediately() {
+        GroqRateLimiter limiter = new GroqRateLimiter(1, 1, 1, 1, 0);
+        limiter.acquire(GroqClient.Priority.BATCH, 1).join();
+        CompletableFuture<GroqRateLimiter.Permit> queued = limiter.acquire(GroqClient.Priority.BATCH, 1);
+        CompletableFuture<GroqRateLimiter.Permit> shed = limiter.acquire(GroqClient.Priority.BATCH, 1);
+
+        assertFalse(queued.isDone());
+        CompletionException e = assertThrows(CompletionException.class, shed::join);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertEquals(1L, limiter.status().get("rejected"));
+        // The other lane has its own queue
+        assertFalse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).isCompletedExceptionally());
+    }
+
+    @Test
+    void testExhaustedQuotaHoldsCallsUntilReset() throws Exception {
+        GroqRateLimiter limiter = new GroqRateLimiter(4, 1, 4, 10, 0);
+        limiter.onResponse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join(), 200, Map.of(
+                "x-ratelimit-remaining-requests", "0",
+                "x-ratelimit-reset-requests", "150ms")::get);
+
+        CompletableFuture<GroqRateLimiter.Permit> next = limiter.acquire(GroqClient.Priority.INTERACTIVE, 1);
+        assertFalse(next.isDone(), "no requests left in this window");
+        assertNotNull(next.get(5, TimeUnit.SECONDS), "admitted once the window resets");
+    }
+
+    @Test
+    void testTokenQuotaHoldsLargeCalls() {
+        GroqRateLimiter limiter = new GroqRateLimiter(4, 1, 4, 10, 0);
+        limiter.onResponse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 1).join(), 200, Map.of(
+                "x-ratelimit-remaining-tokens", "1000",
+                "x-ratelimit-reset-tokens", "1m")::get);
+
+        assertTrue(limiter.acquire(GroqClient.Priority.INTERACTIVE, 600).isDone());
+        assertFalse(limiter.acquire(GroqClient.Priority.INTERACTIVE, 600).isDone(),
+                "only 400 tokens left until the reset");
+    }
+}
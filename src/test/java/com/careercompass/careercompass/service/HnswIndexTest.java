@@ -0,0 +1,86 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIM = 64;
+
+    @Test
+    void testSearch_RecallAgainstBruteForce() {
+        Random random = new Random(7);
+        List<float[]> data = new ArrayList<>();
+        HnswIndex index = new HnswIndex(DIM, 16, 200, 64);
+        for (int i = 0; i < 2000; i++) {
+            float[] v = randomVector(random);
+            data.add(v);
+            assertEquals(i, index.add(v));
+        }
+
+        int k = 10;
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            Set<Integer> expected = bruteForce(data, query, k);
+            for (VectorIndex.Hit r : index.search(query, k, 64)) {
+                if (expected.contains(r.id()))
+                    hits++;
+            }
+        }
+
+        double recall = hits / (double) (queries * k);
+        assertTrue(recall >= 0.95, "recall@10 was " + recall);
+    }
+
+    @Test
+    void testSearch_ReturnsBestFirstAndSkipsDeleted() {
+        HnswIndex index = new HnswIndex(3, 4, 16, 10);
+        int java = index.add(new float[] { 1f, 0f, 0f });
+        int spring = index.add(new float[] { 0.9f, 0.1f, 0f });
+        index.add(new float[] { 0f, 0f, 1f });
+
+        List<VectorIndex.Hit> results = index.search(new float[] { 1f, 0f, 0f }, 2, 10);
+        assertEquals(java, results.get(0).id());
+        assertEquals(1.0f, results.get(0).score(), 1e-5);
+        assertEquals(spring, results.get(1).id());
+
+        index.delete(java);
+        assertEquals(2, index.size());
+        assertEquals(spring, index.search(new float[] { 1f, 0f, 0f }, 1, 10).get(0).id());
+    }
+
+    @Test
+    void testAdd_RejectsWrongDimension() {
+        HnswIndex index = new HnswIndex(3, 4, 16, 10);
+        assertThrows(IllegalArgumentException.class, () -> index.add(new float[] { 1f, 2f }));
+        assertTrue(index.search(new float[] { 1f, 2f }, 1, 10).isEmpty());
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++)
+            v[i] = (float) random.nextGaussian();
+        return v;
+    }
+
+    private static Set<Integer> bruteForce(List<float[]> data, float[] query, int k) {
+        List<double[]> scored = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            scored.add(new double[] { Embedding.of(data.get(i)).cosine(Embedding.of(query)), i });
+        }
+        scored.sort((a, b) -> Double.compare(b[0], a[0]));
+        Set<Integer> top = new HashSet<>();
+        for (int i = 0; i < k; i++)
+            top.add((int) scored.get(i)[1]);
+        return top;
+    }
+}
@@ -0,0 +1,124 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionJobServiceTest {
+
+    @Mock
+    private KnowledgeSyncService knowledgeSyncService;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private LexicalSearchService lexicalSearchService;
+
+    @Mock
+    private CsvSnippetLoader csvSnippetLoader;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSubmit_RunsSyncAndReportsStatus() throws Exception {
+        when(vectorStore.isIndexEmpty()).thenReturn(true);
+        when(knowledgeSyncService.sync(eq(true), any(IngestionJob.class))).thenAnswer(inv -> {
+            IngestionJob job = inv.getArgument(1);
+            job.parsed(2);
+            job.upserted(List.of(snippet("a"), snippet("b")));
+            return null;
+        });
+
+        IngestionJobService service = newService();
+        IngestionJob job = service.submit();
+
+        assertTrue(job.await(5, TimeUnit.SECONDS));
+        assertEquals(IngestionJob.State.SUCCEEDED, job.getState());
+        assertEquals("full", job.status().get("mode"));
+        assertEquals(2, job.status().get("upserted"));
+        verify(lexicalSearchService).rebuild(anyList());
+        assertSame(job, service.find(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void testLoadJobs_RunningJobIsResumedAfterRestart() throws Exception {
+        when(vectorStore.isIndexEmpty()).thenReturn(false);
+        IngestionJobService before = newService();
+        // The first sync never returns until cancelled, standing in for a process
+        // that dies mid-run; the resuming one completes
+        when(knowledgeSyncService.sync(eq(false), any(IngestionJob.class))).thenAnswer(inv -> {
+            IngestionJob job = inv.getArgument(1);
+            while (job.snapshot().resumedFrom() == null && !job.isCancelled())
+                Thread.sleep(5);
+            return null;
+        });
+        IngestionJob running = before.submit();
+        while (running.getState() != IngestionJob.State.RUNNING)
+            Thread.sleep(5);
+
+        // A fresh service over the same directory sees the job as interrupted
+        IngestionJobService after = newService();
+        after.loadJobs();
+        assertEquals(IngestionJob.State.INTERRUPTED, after.find(running.getId()).orElseThrow().getState());
+
+        IngestionJob resumed = after.submit();
+        assertEquals(running.getId(), resumed.snapshot().resumedFrom());
+        assertTrue(after.interruptedJob().isEmpty());
+
+        assertTrue(before.cancel(running.getId()));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertEquals(IngestionJob.State.CANCELLED, running.getState());
+        assertTrue(resumed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdown_RunningJobIsSavedInterruptedAndResumed() throws Exception {
+        when(vectorStore.isIndexEmpty()).thenReturn(false);
+        when(knowledgeSyncService.sync(eq(false), any(IngestionJob.class))).thenAnswer(inv -> {
+            IngestionJob job = inv.getArgument(1);
+            while (job.snapshot().resumedFrom() == null && !job.isCancelled())
+                Thread.sleep(5);
+            return null;
+        });
+        IngestionJobService before = newService();
+        IngestionJob running = before.submit();
+        while (running.getState() != IngestionJob.State.RUNNING)
+            Thread.sleep(5);
+
+        before.shutdown();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        assertEquals(IngestionJob.State.INTERRUPTED, running.getState(), "a shutdown is not a cancel");
+
+        IngestionJobService after = newService();
+        after.loadJobs();
+        assertEquals(running.getId(), after.interruptedJob().orElseThrow().getId());
+
+        IngestionJob resumed = after.submit();
+        assertEquals(running.getId(), resumed.snapshot().resumedFrom());
+        assertTrue(resumed.await(5, TimeUnit.SECONDS));
+        assertEquals(IngestionJob.State.SUCCEEDED, resumed.getState());
+        assertEquals(IngestionJob.State.FAILED, after.find(running.getId()).orElseThrow().getState());
+    }
+
+    private IngestionJobService newService() {
+        return new IngestionJobService(knowledgeSyncService, vectorStore, lexicalSearchService, csvSnippetLoader,
+                dir.toString());
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id) {
+        return new CsvSnippetLoader.Snippets(id, "Topic " + id, "General", List.of("k"), "advice");
+    }
+}
@@ -0,0 +1,59 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestionManifestTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testDiff_DetectsAddedChangedUnchangedAndRemoved() throws Exception {
+        Path path = dir.resolve("manifest.csv");
+        IngestionManifest manifest = IngestionManifest.load(path);
+        manifest.record(List.of(snippet("a", "advice a"), snippet("b", "advice b"), snippet("c", "advice, \"c\"")),
+                "model-1");
+        manifest.save();
+
+        IngestionManifest reloaded = IngestionManifest.load(path);
+        IngestionManifest.Diff diff = reloaded.diff(
+                List.of(snippet("a", "advice a"), snippet("b", "edited b"), snippet("c", "advice, \"c\""),
+                        snippet("d", "new")),
+                "model-1");
+
+        assertEquals(List.of("d"), ids(diff.added()));
+        assertEquals(List.of("b"), ids(diff.changed()));
+        assertEquals(2, diff.unchanged());
+        assertTrue(diff.removed().isEmpty());
+
+        IngestionManifest.Diff dropped = reloaded.diff(List.of(snippet("a", "advice a")), "model-1");
+        assertEquals(Set.of("b", "c"), dropped.removed());
+    }
+
+    @Test
+    void testDiff_ModelChangeReembedsEverything() {
+        IngestionManifest manifest = IngestionManifest.load(dir.resolve("missing.csv"));
+        assertEquals(0, manifest.size());
+        manifest.record(List.of(snippet("a", "x")), "model-1");
+
+        IngestionManifest.Diff diff = manifest.diff(List.of(snippet("a", "x")), "model-2");
+
+        assertEquals(List.of("a"), ids(diff.changed()));
+        assertEquals(0, diff.unchanged());
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id, String advice) {
+        return new CsvSnippetLoader.Snippets(id, "Topic " + id, "General", List.of("k"), advice);
+    }
+
+    private static List<String> ids(List<CsvSnippetLoader.Snippets> snippets) {
+        return snippets.stream().map(CsvSnippetLoader.Snippets::getId).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionPipelineTest {
+
+    @Mock
+    private CsvSnippetLoader csvSnippetLoader;
+
+    @Mock
+    private SnippetEmbedder embedder;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    private final IngestionPipeline.Settings settings = new IngestionPipeline.Settings(2, 2, 3, 7, 3, 2, 0, 0);
+
+    @Test
+    void testIngest_MovesEverySnippetThroughAllStages() throws Exception {
+        when(csvSnippetLoader.loadFromCsv("a.csv", false)).thenReturn(snippets("a", 25));
+        when(csvSnippetLoader.loadFromCsv("b.csv", false)).thenReturn(snippets("b", 12));
+        when(embedder.embed(anyList())).thenAnswer(inv -> vectors(inv.getArgument(0)));
+        Set<String> stored = ConcurrentHashMap.newKeySet();
+        doAnswer(inv -> {
+            List<CsvSnippetLoader.Snippets> batch = inv.getArgument(0);
+            assertTrue(batch.size() <= 3);
+            batch.forEach(s -> assertTrue(stored.add(s.getId()), "upserted twice: " + s.getId()));
+            return null;
+        }).when(vectorStore).upsertEmbedded(anyList(), anyMap());
+
+        IngestionPipeline.Report report = new IngestionPipeline(csvSnippetLoader, embedder, vectorStore, settings)
+                .ingest(List.of("a.csv", "b.csv"));
+
+        assertEquals(37, report.parsed());
+        assertEquals(37, report.upserted());
+        assertEquals(37, stored.size());
+        assertEquals(0, report.embedFailures() + report.upsertFailures());
+        assertTrue(report.snippetsPerSecond() > 0);
+    }
+
+    @Test
+    void testIngest_CountsFailuresWithoutStalling() throws Exception {
+        when(csvSnippetLoader.loadFromCsv("a.csv", false)).thenReturn(snippets("a", 10));
+        when(csvSnippetLoader.loadFromCsv("missing.csv", false)).thenThrow(new IOException("not found"));
+        // Every other snippet fails to embed; the first upsert batch is rejected
+        when(embedder.embed(anyList())).thenAnswer(inv -> {
+            Map<String, Embedding> all = vectors(inv.getArgument(0));
+            all.keySet().removeIf(id -> Integer.parseInt(id.substring(2)) % 2 == 1);
+            return all;
+        });
+        doThrow(new RuntimeException("Pinecone 500")).doNothing()
+                .when(vectorStore).upsertEmbedded(anyList(), anyMap());
+
+        IngestionPipeline.Report report = new IngestionPipeline(csvSnippetLoader, embedder, vectorStore, settings)
+                .ingest(List.of("a.csv", "missing.csv"));
+
+        assertEquals(10, report.parsed());
+        assertEquals(5, report.embedded());
+        assertEquals(5, report.embedFailures());
+        assertTrue(report.upsertFailures() > 0);
+        assertEquals(5, report.upserted() + report.upsertFailures());
+    }
+
+    private static List<CsvSnippetLoader.Snippets> snippets(String prefix, int n) {
+        List<CsvSnippetLoader.Snippets> snippets = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            snippets.add(new CsvSnippetLoader.Snippets(prefix + "-" + i, "T" + i, "General", List.of("k"), "advice"));
+        return snippets;
+    }
+
+    private static Map<String, Embedding> vectors(List<CsvSnippetLoader.Snippets> batch) {
+        Map<String, Embedding> vectors = new HashMap<>();
+        batch.forEach(s -> vectors.put(s.getId(), Embedding.of(new float[] { 1f, 0f })));
+        return vectors;
+    }
+}
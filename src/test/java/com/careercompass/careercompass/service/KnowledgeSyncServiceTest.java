@@ -0,0 +1,130 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KnowledgeSyncServiceTest {
+
+    @Mock
+    private CsvSnippetLoader csvSnippetLoader;
+
+    @Mock
+    private IngestionPipeline ingestionPipeline;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSync_OnlyIngestsChangesAndDeletesRemovedSnippets() throws Exception {
+        Path manifestPath = dir.resolve("manifest.csv");
+        IngestionManifest previous = IngestionManifest.load(manifestPath);
+        previous.record(List.of(snippet("keep", "same"), snippet("edit", "old"), snippet("gone", "bye")), "m");
+        previous.save();
+
+        CsvSnippetLoader.Snippets edited = snippet("edit", "new");
+        CsvSnippetLoader.Snippets added = snippet("add", "hello");
+        when(csvSnippetLoader.loadKnowledgeBase()).thenReturn(List.of(snippet("keep", "same"), edited, added));
+        when(ingestionPipeline.ingestSnippets(anyList(), any())).thenAnswer(inv -> {
+            List<CsvSnippetLoader.Snippets> batch = inv.getArgument(0);
+            IngestionPipeline.Listener listener = inv.getArgument(1);
+            listener.upserted(batch);
+            return new IngestionPipeline.Report(1, batch.size(), batch.size(), batch.size(), 0, 0, 1, 1.0);
+        });
+
+        KnowledgeSyncService service = new KnowledgeSyncService(csvSnippetLoader, ingestionPipeline, vectorStore,
+                manifestPath.toString(), "m");
+        KnowledgeSyncService.SyncReport report = service.sync(false);
+
+        verify(vectorStore).deleteSnippets(Set.of("gone"));
+        verify(ingestionPipeline).ingestSnippets(eq(List.of(added, edited)), any());
+        assertEquals(1, report.added());
+        assertEquals(1, report.changed());
+        assertEquals(1, report.unchanged());
+        assertEquals(1, report.removed());
+
+        // A second sync over the same files has nothing to do
+        KnowledgeSyncService.SyncReport again = service.sync(false);
+        assertEquals(3, again.unchanged());
+        assertNull(again.ingest());
+        verifyNoMoreInteractions(ingestionPipeline);
+    }
+
+    @Test
+    void testSync_RetriesFailedSnippetsAndCheckpointsThem() throws Exception {
+        Path manifestPath = dir.resolve("manifest.csv");
+        CsvSnippetLoader.Snippets a = snippet("a", "one");
+        CsvSnippetLoader.Snippets b = snippet("b", "two");
+        when(csvSnippetLoader.loadKnowledgeBase()).thenReturn(List.of(a, b));
+
+        // First pass: "b" fails to embed; the retry succeeds
+        AtomicInteger calls = new AtomicInteger();
+        when(ingestionPipeline.ingestSnippets(anyList(), any())).thenAnswer(inv -> {
+            List<CsvSnippetLoader.Snippets> batch = inv.getArgument(0);
+            IngestionPipeline.Listener listener = inv.getArgument(1);
+            if (calls.incrementAndGet() == 1) {
+                listener.upserted(List.of(a));
+                listener.failed(List.of(b), "embedding failed");
+            } else {
+                listener.upserted(batch);
+            }
+            return new IngestionPipeline.Report(1, batch.size(), batch.size(), batch.size(), 0, 0, 1, 1.0);
+        });
+
+        KnowledgeSyncService service = new KnowledgeSyncService(csvSnippetLoader, ingestionPipeline, vectorStore,
+                manifestPath.toString(), "m");
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 0L);
+        IngestionJob job = new IngestionJob("j", false, null);
+        service.sync(false, job);
+
+        verify(ingestionPipeline).ingestSnippets(eq(List.of(b)), any());
+        assertEquals(2, job.snapshot().upserted());
+        assertEquals(1, job.snapshot().retried());
+        assertEquals(0, job.snapshot().failed());
+        assertEquals(2, IngestionManifest.load(manifestPath).size());
+    }
+
+    @Test
+    void testSync_CancelledJobKeepsCheckpointForResume() throws Exception {
+        Path manifestPath = dir.resolve("manifest.csv");
+        CsvSnippetLoader.Snippets a = snippet("a", "one");
+        CsvSnippetLoader.Snippets b = snippet("b", "two");
+        when(csvSnippetLoader.loadKnowledgeBase()).thenReturn(List.of(a, b));
+
+        IngestionJob job = new IngestionJob("j", false, null);
+        when(ingestionPipeline.ingestSnippets(anyList(), any())).thenAnswer(inv -> {
+            IngestionPipeline.Listener listener = inv.getArgument(1);
+            listener.upserted(List.of(a));
+            job.cancel();
+            return new IngestionPipeline.Report(1, 2, 1, 1, 0, 0, 1, 1.0);
+        });
+
+        KnowledgeSyncService service = new KnowledgeSyncService(csvSnippetLoader, ingestionPipeline, vectorStore,
+                manifestPath.toString(), "m");
+        service.sync(false, job);
+
+        // Only "a" is checkpointed, so the next sync picks up just "b"
+        IngestionManifest.Diff next = IngestionManifest.load(manifestPath).diff(List.of(a, b), "m");
+        assertEquals(List.of(b), next.toIngest());
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id, String advice) {
+        return new CsvSnippetLoader.Snippets(id, "Topic " + id, "General", List.of("k"), advice);
+    }
+}
@@ -0,0 +1,34 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoiseFilterTest {
+
+    private final NoiseFilter filter = new NoiseFilter("data/noise_terms.csv");
+
+    @Test
+    void testIsNoise_DropsBroadRolesAndUiLabels() {
+        assertTrue(filter.isNoise("Senior Developer"));
+        assertTrue(filter.isNoise("ATS Score"));
+        assertTrue(filter.isNoise("Resume Writing"));
+        assertTrue(filter.isNoise("C"), "single characters are never skills");
+        assertFalse(filter.isNoise("Spring Boot"));
+        assertFalse(filter.isNoise("Go"));
+    }
+
+    @Test
+    void testStrip_RemovesHeadingsCaseInsensitively() {
+        assertEquals(" Learn Docker first.", filter.strip("Expert Tip: Learn Docker first."));
+        assertEquals(" Build a REST API.", filter.strip("TIP 2: Build a REST API."));
+        assertEquals(" Strong Java.", filter.strip("Match Summary: Strong Java."));
+    }
+
+    @Test
+    void testStrip_KeepsTextWithoutHeadings() {
+        String text = "Add unit tests to your projects.";
+        assertSame(text, filter.strip(text));
+        assertEquals("A tip for you", filter.strip("A tip for you"), "'tip' needs a number to count");
+    }
+}
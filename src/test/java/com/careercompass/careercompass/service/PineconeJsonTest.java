@@ -0,0 +1,75 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PineconeJsonTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testWriteUpsertAndQuery_ProduceExpectedBodies() throws Exception {
+        CsvSnippetLoader.Snippets java = new CsvSnippetLoader.Snippets("java-1", "Java \"Streams\"",
+                "Technical Skill", List.of("Java", " streams ", "java"), "Use collectors.");
+        CsvSnippetLoader.Snippets skipped = new CsvSnippetLoader.Snippets("x", "X", "General", List.of("x"), "");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PineconeJson.writeUpsert(out, List.of(java, skipped),
+                Arrays.asList(Embedding.of(new float[] { 0.25f, -1.5f }), null));
+        JsonNode upsert = mapper.readTree(out.toByteArray());
+
+        assertEquals(1, upsert.get("vectors").size());
+        JsonNode vector = upsert.get("vectors").get(0);
+        assertEquals("java-1", vector.get("id").asText());
+        assertEquals(-1.5, vector.get("values").get(1).asDouble(), 1e-9);
+        assertEquals("Java \"Streams\"", vector.get("metadata").get("topic").asText());
+        assertEquals("technical skill", vector.get("metadata").get("categoryKey").asText());
+        assertEquals("[\"java\",\"streams\"]", vector.get("metadata").get("keywordList").toString());
+
+        out.reset();
+        PineconeJson.writeQuery(out, new float[] { 1f, 0f }, 4,
+                VectorStore.SearchFilter.minScore(0.5).withKeywords(List.of("Java")));
+        JsonNode query = mapper.readTree(out.toByteArray());
+
+        assertEquals(4, query.get("topK").asInt());
+        assertTrue(query.get("includeMetadata").asBoolean());
+        assertEquals("java", query.get("filter").get("keywordList").get("$in").get(0).asText());
+        assertFalse(query.get("filter").has("categoryKey"));
+    }
+
+    @Test
+    void testReadMatches_StreamsMetadataAndStopsBelowMinScore() throws Exception {
+        String response = """
+                {"results": [], "matches": [
+                  {"id": "a", "score": 0.91, "values": [0.1, 0.2],
+                   "metadata": {"topic": "Spring", "category": "Technical Skill", "adviceText": "Beans",
+                                "keywords": "spring,java", "keywordList": ["spring", "java"]}},
+                  {"id": "b", "score": 0.8},
+                  {"id": "c", "score": 0.4, "metadata": {"topic": "Too weak"}}
+                 ], "namespace": "", "usage": {"readUnits": 5}}
+                """;
+
+        List<VectorStore.ScoredSnippet> matches = PineconeJson.readMatches(
+                new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)), 0.5);
+
+        assertEquals(1, matches.size());
+        CsvSnippetLoader.Snippets snippet = matches.get(0).getSnippet();
+        assertEquals("a", snippet.getId());
+        assertEquals("Spring", snippet.getTopic());
+        assertEquals(List.of("spring", "java"), snippet.getKeywords());
+        assertEquals(0.91, matches.get(0).getScore(), 1e-9);
+
+        assertEquals(42, PineconeJson.readTotalVectorCount(new ByteArrayInputStream(
+                "{\"namespaces\": {\"\": {\"vectorCount\": 42}}, \"dimension\": 768, \"totalVectorCount\": 42}"
+                        .getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,48 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfessionalizeFilterTest {
+
+    private final NoiseFilter noiseFilter = new NoiseFilter("data/noise_terms.csv");
+
+    @Test
+    void testStreamedOutputMatchesWholeText() {
+        String text = "expert tip: learn   Docker first.\n\n\n\nTIP 2: Build a REST API   with Spring Boot "
+                + "and deploy it.\nMatch Summary: strong Java background, keep going";
+        String whole = professionalize(text);
+        assertTrue(whole.startsWith("Learn Docker first."), whole);
+        assertFalse(whole.toLowerCase().contains("tip 2"), whole);
+
+        // Token-sized chunks split headings and whitespace runs across calls
+        for (int size : new int[] { 1, 3, 7, 16 }) {
+            ProfessionalizeFilter filter = new ProfessionalizeFilter(noiseFilter);
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < text.length(); i += size)
+                out.append(filter.accept(text.substring(i, Math.min(text.length(), i + size))));
+            out.append(filter.finish());
+            assertEquals(whole, out.toString(), "chunk size " + size);
+        }
+    }
+
+    @Test
+    void testEmitsTextBeforeTheStreamEnds() {
+        ProfessionalizeFilter filter = new ProfessionalizeFilter(noiseFilter);
+        String first = filter.accept("start with the basics of containers, then move on to orchestration ");
+        assertTrue(first.startsWith("Start with the basics"), first);
+    }
+
+    @Test
+    void testBlankStreamStaysEmpty() {
+        ProfessionalizeFilter filter = new ProfessionalizeFilter(noiseFilter);
+        assertEquals("", filter.accept("  \n "));
+        assertEquals("", filter.finish());
+    }
+
+    private String professionalize(String text) {
+        ProfessionalizeFilter filter = new ProfessionalizeFilter(noiseFilter);
+        return filter.accept(text) + filter.finish();
+    }
+}
@@ -0,0 +1,78 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantizedVectorIndexTest {
+
+    private static final int DIM = 768;
+
+    @Test
+    void testSearch_RerankedTopKMatchesFloatIndex() {
+        Random random = new Random(11);
+        List<float[]> data = new ArrayList<>();
+        FlatVectorIndex exact = new FlatVectorIndex(DIM);
+        QuantizedVectorIndex quantized = new QuantizedVectorIndex(DIM, 4, data::get);
+        for (int i = 0; i < 1000; i++) {
+            float[] v = randomVector(random);
+            data.add(v);
+            exact.add(v);
+            quantized.add(v);
+        }
+
+        for (int q = 0; q < 20; q++) {
+            float[] query = randomVector(random);
+            List<VectorIndex.Hit> expected = exact.search(query, 8, row -> true);
+            List<VectorIndex.Hit> actual = quantized.search(query, 8, row -> true);
+
+            assertEquals(ids(expected), ids(actual));
+            assertEquals(expected.get(0).score(), actual.get(0).score(), 1e-5);
+        }
+
+        assertTrue(quantized.memoryBytes() * 3 < exact.memoryBytes(),
+                quantized.memoryBytes() + " vs " + exact.memoryBytes());
+    }
+
+    @Test
+    void testSearch_WithoutFloatVectorsKeepsMostOfTopK() {
+        Random random = new Random(5);
+        List<float[]> data = new ArrayList<>();
+        FlatVectorIndex exact = new FlatVectorIndex(DIM);
+        QuantizedVectorIndex quantized = new QuantizedVectorIndex(DIM, 4, null);
+        for (int i = 0; i < 1000; i++) {
+            float[] v = randomVector(random);
+            data.add(v);
+            exact.add(v);
+            quantized.add(v);
+        }
+
+        int hits = 0;
+        for (int q = 0; q < 20; q++) {
+            float[] query = randomVector(random);
+            Set<Integer> expected = new HashSet<>(ids(exact.search(query, 8, row -> true)));
+            for (VectorIndex.Hit h : quantized.search(query, 8, row -> true)) {
+                if (expected.contains(h.id()))
+                    hits++;
+            }
+        }
+        assertTrue(hits / 160.0 >= 0.85, "approximate recall@8 was " + hits / 160.0);
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] v = new float[DIM];
+        for (int i = 0; i < DIM; i++)
+            v[i] = (float) random.nextGaussian();
+        return v;
+    }
+
+    private static List<Integer> ids(List<VectorIndex.Hit> hits) {
+        return hits.stream().map(VectorIndex.Hit::id).toList();
+    }
+}
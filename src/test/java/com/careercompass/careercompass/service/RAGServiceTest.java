@@ -0,0 +1,106 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RAGServiceTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private LexicalSearchService lexicalSearch;
+
+    @InjectMocks
+    private RAGService ragService;
+
+    private final CsvSnippetLoader.Snippets a = snippet("a", "Spring Boot");
+    private final CsvSnippetLoader.Snippets b = snippet("b", "Dependency Injection");
+    private final CsvSnippetLoader.Snippets c = snippet("c", "REST APIs");
+
+    @Test
+    void testHybridSearch_ConfidentLexicalHitSkipsVectorStore() {
+        when(lexicalSearch.search(eq("spring boot"), eq(5), any()))
+                .thenReturn(new LexicalSearchService.Result(List.of(scored(a, 7.1)), 1.0, 2));
+
+        List<CsvSnippetLoader.Snippets> result = ragService.getRagContext("spring boot", 5);
+
+        assertEquals(List.of(a), result);
+        verifyNoInteractions(vectorStore);
+    }
+
+    @Test
+    void testHybridSearch_FusesVectorAndLexicalRanks() {
+        when(lexicalSearch.search(anyString(), eq(3), any()))
+                .thenReturn(new LexicalSearchService.Result(List.of(scored(b, 4.0), scored(c, 2.0)), 0.5, 6));
+        when(vectorStore.isAvailable()).thenReturn(true);
+        when(vectorStore.semanticSearch(anyString(), eq(3), any()))
+                .thenReturn(List.of(scored(a, 0.91), scored(b, 0.88)));
+
+        List<VectorStore.ScoredSnippet> fused = ragService.hybridSearch(
+                "how does spring wire beans together", 3, VectorStore.SearchFilter.NONE);
+
+        // b is ranked by both lists, so it beats a (vector #1 only) and c (lexical #2 only)
+        assertEquals(List.of("b", "a", "c"), fused.stream().map(s -> s.getSnippet().getId()).toList());
+    }
+
+    @Test
+    void testSkillContext_QueriesEachUnresolvedSkillWithItsOwnVector() {
+        when(cacheService.getRagContext(anyString())).thenReturn(null);
+        when(lexicalSearch.search(anyString(), anyInt(), any())).thenReturn(LexicalSearchService.Result.EMPTY);
+        when(vectorStore.isAvailable()).thenReturn(true);
+        when(vectorStore.semanticSearchBatch(anyList(), anyInt(), any())).thenAnswer(inv -> {
+            List<String> queries = inv.getArgument(0);
+            return queries.stream()
+                    .map(q -> q.equals("Spring Boot") ? List.of(scored(a, 0.9)) : List.of(scored(c, 0.8)))
+                    .toList();
+        });
+
+        List<CsvSnippetLoader.Snippets> context = ragService.getRagContextOptimized(
+                new LinkedHashSet<>(List.of("Spring Boot", "REST APIs")), null);
+
+        assertEquals(Set.of(a, c), Set.copyOf(context));
+        verify(vectorStore, never()).semanticSearch(anyString(), anyInt(), any());
+        verify(cacheService).putRagContext("spring boot", List.of(a));
+        verify(cacheService).putRagContext("rest apis", List.of(c));
+    }
+
+    @Test
+    void testHybridSearch_UnavailableVectorStoreFallsBackToLexical() {
+        ReflectionTestUtils.setField(ragService, "hybridEnabled", false);
+        when(lexicalSearch.search(anyString(), eq(3), any()))
+                .thenReturn(new LexicalSearchService.Result(List.of(scored(b, 4.0), scored(c, 2.0)), 0.5, 6));
+        when(vectorStore.isAvailable()).thenReturn(false);
+
+        List<VectorStore.ScoredSnippet> hits = ragService.hybridSearch(
+                "how does spring wire beans together", 3, VectorStore.SearchFilter.NONE);
+
+        assertEquals(List.of("b", "c"), hits.stream().map(s -> s.getSnippet().getId()).toList());
+        verify(vectorStore, never()).semanticSearch(anyString(), anyInt(), any());
+    }
+
+    private static VectorStore.ScoredSnippet scored(CsvSnippetLoader.Snippets snippet, double score) {
+        return new VectorStore.ScoredSnippet(snippet, score);
+    }
+
+    private static CsvSnippetLoader.Snippets snippet(String id, String topic) {
+        return new CsvSnippetLoader.Snippets(id, topic, "Technical Skill", List.of(topic.toLowerCase()),
+                topic + " advice");
+    }
+}
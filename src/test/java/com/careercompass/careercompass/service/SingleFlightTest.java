@@ -0,0 +1,101 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testRun_ConcurrentCallersShareOneLoad() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.run("jd", () -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = flights.run("jd", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertEquals(1, flights.inFlight());
+
+        upstream.complete("profile");
+        assertEquals("profile", first.join());
+        assertEquals("profile", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(1, flights.coalesced());
+        assertEquals(0, flights.inFlight(), "finished flights are forgotten");
+
+        // A later call starts a new flight
+        assertEquals("again", flights.run("jd", () -> CompletableFuture.completedFuture("again")).join());
+    }
+
+    @Test
+    void testRun_FailureIsSharedAndNotRemembered() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.run("k", () -> upstream);
+        CompletableFuture<String> second = flights.run("k", () -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals("ok", flights.run("k", () -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    void testCall_BlockingCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flights.call("term", () -> {
+                loads.incrementAndGet();
+                entered.countDown();
+                awaitQuietly(release);
+                return 42;
+            })));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> flights.call("term", () -> {
+                    loads.incrementAndGet();
+                    return -1;
+                })));
+            }
+            while (flights.coalesced() < 3)
+                Thread.sleep(5);
+            release.countDown();
+
+            for (Future<Integer> result : results)
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
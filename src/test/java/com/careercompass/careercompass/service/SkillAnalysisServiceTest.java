@@ -0,0 +1,84 @@
+package com.careercompass.careercompass.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Skill extraction against the shipped skills.csv, skill_aliases.csv and
+ * noise_terms.csv.
+ */
+@ExtendWith(MockitoExtension.class)
+class SkillAnalysisServiceTest {
+
+    @Mock
+    private GroqClient groqClient;
+
+    @Mock
+    private RAGService ragService;
+
+    @Mock
+    private PromptBuilder promptBuilder;
+
+    @Mock
+    private CacheService cacheService;
+
+    private CsvDataService csvDataService;
+    private SkillAnalysisService skillService;
+
+    @BeforeEach
+    void setUp() {
+        csvDataService = new CsvDataService();
+        csvDataService.init();
+        when(groqClient.getObjectMapper()).thenReturn(new ObjectMapper());
+        skillService = new SkillAnalysisService(groqClient, ragService, promptBuilder, csvDataService,
+                cacheService, new NoiseFilter("data/noise_terms.csv"));
+    }
+
+    @Test
+    void testExtractSkills_LocalModeReturnsCanonicalNamesWithoutNoise() {
+        List<String> skills = skillService
+                .extractSkills("Backend Development role: Java 11, REST and Docker. Java again.");
+
+        assertEquals(List.of("Java", "REST APIs", "Docker"), skills);
+        verify(groqClient, never()).callGroq(any(), any(), any());
+    }
+
+    @Test
+    void testExtractSkills_AliasesResolveToTheirSkill() {
+        assertEquals(List.of("MongoDB", "Microservices"),
+                skillService.extractSkills("Stored events in Mongo behind micro-services."));
+        assertEquals("skill-nodejs", csvDataService.findSkillId("node js"));
+        assertEquals("skill-microservices", csvDataService.findSkillId("micro-services"));
+    }
+
+    @Test
+    void testExtractSkills_KeywordWinsOverConflictingAlias() {
+        // skill_aliases.csv maps it to REST APIs; skills.csv lists it as an API Development keyword
+        assertEquals("skill-api-dev", csvDataService.findSkillId("restful apis"));
+        assertEquals("API Development", csvDataService.getSkillDisplayName("RESTful APIs"));
+    }
+
+    @Test
+    void testExtractSkills_LlmModeAsksGroq() {
+        ReflectionTestUtils.setField(skillService, "extractionMode", "llm");
+        when(promptBuilder.buildSkillExtractionPrompt("Node and k8s")).thenReturn("extract");
+        when(groqClient.callGroq("extract", GroqClient.QueryComplexity.BALANCED, GroqClient.Priority.BATCH))
+                .thenReturn("nodejs, Underwater Basket Weaving, java");
+
+        // Only what the taxonomy knows survives, under its canonical name
+        assertEquals(List.of("Node.js", "Java"), skillService.extractSkills("Node and k8s"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillDictionaryMatcherTest {
+
+    private final SkillDictionaryMatcher matcher = new SkillDictionaryMatcher(dictionary());
+
+    private static Map<String, String> dictionary() {
+        Map<String, String> d = new LinkedHashMap<>();
+        d.put("java", "skill-java");
+        d.put("javascript", "skill-js");
+        d.put("js", "skill-js");
+        d.put("spring", "skill-spring");
+        d.put("spring boot", "skill-spring-boot");
+        d.put("c++", "skill-cpp");
+        d.put(".net", "skill-dotnet");
+        d.put("go", "skill-go");
+        return d;
+    }
+
+    @Test
+    void testFindAll_ReportsOffsetsAndOverlaps() {
+        String text = "Built APIs in Java with Spring Boot.";
+
+        List<SkillDictionaryMatcher.Match> matches = matcher.findAll(text);
+
+        assertEquals(List.of("java", "spring", "spring boot"),
+                matches.stream().map(SkillDictionaryMatcher.Match::term).toList());
+        SkillDictionaryMatcher.Match boot = matches.get(2);
+        assertEquals("Spring Boot", text.substring(boot.start(), boot.end()));
+    }
+
+    @Test
+    void testFindAll_RequiresWordBoundaries() {
+        assertEquals(List.of("skill-js"), matcher.findValues("Strong JavaScript skills"));
+        assertTrue(matcher.findValues("We use mongodb and django").isEmpty(), "'go' inside words must not match");
+        assertTrue(matcher.findValues("javas").isEmpty());
+    }
+
+    @Test
+    void testFindAll_MatchesSymbolTerms() {
+        assertEquals(List.of("skill-cpp", "skill-dotnet"), matcher.findValues("C++ and .NET developer"));
+    }
+
+    @Test
+    void testFindValues_DeduplicatesInFirstSeenOrder() {
+        assertEquals(List.of("skill-go", "skill-java"), matcher.findValues("Go, Java, go, JAVA"));
+    }
+
+    @Test
+    void testFindLongestValue_PrefersLongestContainedTerm() {
+        assertEquals("skill-js", matcher.findLongestValue("javascript development"));
+        assertEquals("skill-spring-boot", matcher.findLongestValue("spring boot microservices"));
+        assertEquals("skill-go", matcher.findLongestValue("golang"), "substring semantics: 'go' inside 'golang'");
+        assertNull(matcher.findLongestValue("rust"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillSimilarityIndexTest {
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private CsvDataService csvDataService;
+
+    @InjectMocks
+    private SkillSimilarityIndex index;
+
+    @Test
+    void testRebuild_KeepsPairsAtTheThresholdSymmetrically() {
+        when(csvDataService.getAllSkillNames())
+                .thenReturn(new LinkedHashSet<>(List.of("java", "kotlin", "excel", "cobol")));
+        // cos(java, kotlin) = 4/5 = 0.80 exactly; excel is orthogonal; cobol has no vector
+        when(embeddingService.batchGenerateEmbeddings(any())).thenReturn(Map.of(
+                "java", Embedding.of(new float[] { 1f, 0f, 0f }),
+                "kotlin", Embedding.of(new float[] { 4f, 3f, 0f }),
+                "excel", Embedding.of(new float[] { 0f, 0f, 1f })));
+
+        index.rebuild();
+
+        assertEquals(0.80, index.similarity("java", "kotlin"), 1e-9);
+        assertEquals(index.similarity("java", "kotlin"), index.similarity("kotlin", "java"));
+        assertEquals(Map.of("kotlin", 0.80), index.getNeighbours("java"));
+        assertEquals(Map.of("java", 0.80), index.getNeighbours("kotlin"));
+
+        assertTrue(index.isIndexed("excel"));
+        assertTrue(index.getNeighbours("excel").isEmpty());
+        assertEquals(0.0, index.similarity("java", "excel"));
+
+        assertFalse(index.isIndexed("cobol"), "skills without a vector are left out");
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRebuild_DropsPairsBelowTheThreshold() {
+        when(csvDataService.getAllSkillNames()).thenReturn(new LinkedHashSet<>(List.of("java", "scala")));
+        // cos = 3/5 = 0.60
+        when(embeddingService.batchGenerateEmbeddings(any())).thenReturn(Map.of(
+                "java", Embedding.of(new float[] { 1f, 0f }),
+                "scala", Embedding.of(new float[] { 3f, 4f })));
+
+        index.rebuild();
+
+        assertEquals(0.0, index.similarity("java", "scala"));
+        assertEquals(1.0, index.similarity("java", "java"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.careercompass.careercompass.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void testAcquire_SpendsBurstThenPacesAtRate() throws Exception {
+        TokenBucket bucket = new TokenBucket(50, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++)
+            bucket.acquire();
+        long burstMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < 5; i++)
+            bucket.acquire();
+        long pacedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(burstMs < 50, "burst should not wait, took " + burstMs + " ms");
+        assertTrue(pacedMs >= 80, "5 permits at 50/s should take ~100 ms, took " + pacedMs + " ms");
+    }
+
+    @Test
+    void testAcquire_NonPositiveRateIsUnlimited() throws Exception {
+        TokenBucket bucket = new TokenBucket(0, 1);
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++)
+            bucket.acquire();
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 100);
+    }
+}